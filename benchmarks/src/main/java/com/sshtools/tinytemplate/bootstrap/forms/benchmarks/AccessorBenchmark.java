@@ -0,0 +1,109 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.bootstrap.forms.ReflectiveForm;
+
+/**
+ * Compares reading and writing a bean property through the accessors
+ * {@link ReflectiveForm} binds to each field, against a direct call and
+ * against {@link Method#invoke(Object, Object...)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessorBenchmark {
+
+	public final static class Person {
+		private String name = "Joe Bloggs";
+		private int age = 27;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+
+	private Person person;
+	private Method getName;
+	private Method setName;
+	private Supplier<Object> boundGetName;
+	private Consumer<Object> boundSetName;
+	private Supplier<Object> boundGetAge;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup() throws Exception {
+		person = new Person();
+		getName = Person.class.getMethod("getName");
+		setName = Person.class.getMethod("setName", String.class);
+
+		var form = ReflectiveForm.Builder.edit(person).build().form();
+		boundGetName = (Supplier<Object>) form.field("name").value().get();
+		boundSetName = (Consumer<Object>) form.field("name").update().get();
+		boundGetAge = (Supplier<Object>) form.field("age").value().get();
+	}
+
+	@Benchmark
+	public Object directGet() {
+		return person.getName();
+	}
+
+	@Benchmark
+	public Object reflectiveGet() throws Exception {
+		return getName.invoke(person);
+	}
+
+	@Benchmark
+	public Object boundGet() {
+		return boundGetName.get();
+	}
+
+	@Benchmark
+	public Object boundGetPrimitive() {
+		return boundGetAge.get();
+	}
+
+	@Benchmark
+	public void directSet() {
+		person.setName("Jane Bloggs");
+	}
+
+	@Benchmark
+	public void reflectiveSet() throws Exception {
+		setName.invoke(person, "Jane Bloggs");
+	}
+
+	@Benchmark
+	public void boundSet() {
+		boundSetName.accept("Jane Bloggs");
+	}
+}
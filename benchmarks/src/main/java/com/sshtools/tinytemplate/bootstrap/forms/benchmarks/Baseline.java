@@ -0,0 +1,42 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark with the allocation profiler (the same as <code>-prof gc</code>)
+ * and settings fixed so that runs on the same machine can be compared, and writes
+ * the results as JSON. The first argument is the result file, which defaults to
+ * <code>baseline.json</code>, and any further arguments are regular expressions
+ * selecting benchmarks to run.
+ * <pre>
+ * java -cp target/benchmarks.jar com.sshtools.tinytemplate.bootstrap.forms.benchmarks.Baseline baseline.json
+ * </pre>
+ */
+public final class Baseline {
+
+	public static void main(String[] args) throws RunnerException {
+		var bldr = new OptionsBuilder().
+				forks(3).
+				warmupIterations(5).
+				measurementIterations(10).
+				jvmArgs("-Xms1g", "-Xmx1g", "-XX:+UseParallelGC").
+				addProfiler(GCProfiler.class).
+				resultFormat(ResultFormatType.JSON).
+				result(args.length > 0 ? args[0] : "baseline.json");
+
+		if(args.length > 1) {
+			for(int i = 1; i < args.length; i++) {
+				bldr.include(args[i]);
+			}
+		}
+		else {
+			bldr.include(Baseline.class.getPackageName() + ".*");
+		}
+
+		new Runner(bldr.build()).run();
+	}
+}
@@ -0,0 +1,58 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+import com.sshtools.tinytemplate.bootstrap.forms.InputType;
+import com.sshtools.tinytemplate.bootstrap.forms.ReflectiveForm;
+import com.sshtools.tinytemplate.bootstrap.forms.benchmarks.Fixtures.Person;
+
+/**
+ * Builds the same form for a bean using {@link ReflectiveForm}, and by hand
+ * using the {@link Form.Builder} DSL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuildBenchmark {
+
+	private Person person;
+
+	@Setup
+	public void setup() {
+		person = new Person();
+	}
+
+	@Benchmark
+	public Form<Person> reflective() {
+		return ReflectiveForm.Builder.edit(person).build().form();
+	}
+
+	@Benchmark
+	public Form<Person> dsl() {
+		return Form.Builder.edit(person).
+				field(f -> f.name("name").type(String.class).bind(f.$()::getName, f.$()::setName)).
+				field(f -> f.name("email").type(String.class).bind(f.$()::getEmail, f.$()::setEmail)).
+				field(f -> f.name("age").type(Integer.class).bind(f.$()::getAge, f.$()::setAge)).
+				field(f -> f.name("active").type(Boolean.class).bind(f.$()::isActive, f.$()::setActive)).
+				field(f -> f.name("role").type(Fixtures.Role.class).bind(f.$()::getRole, f.$()::setRole)).
+				field(f -> f.name("score").type(Double.class).bind(f.$()::getScore, f.$()::setScore)).
+				field(f -> f.name("website").type(java.net.URI.class).bind(f.$()::getWebsite, f.$()::setWebsite)).
+				field(f -> f.name("notes").type(String.class).input(InputType.TEXTAREA).bind(f.$()::getNotes, f.$()::setNotes)).
+				build();
+	}
+}
@@ -0,0 +1,89 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.bootstrap.forms.DefaultFramework;
+import com.sshtools.tinytemplate.bootstrap.forms.Field;
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+import com.sshtools.tinytemplate.bootstrap.forms.Framework;
+
+/**
+ * Converts submitted strings to field values with {@link Field#valueOf(Framework, Field, String)},
+ * and values back to strings with {@link Field#toValString(Framework, Field, Object)}, for
+ * each of the common field types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+
+	@Param({ "string", "integer", "double", "boolean", "enum", "uri", "list" })
+	public String type;
+
+	private Framework framework;
+	private Field<Void, ?> field;
+	private Object value;
+	private String text;
+
+	@Setup
+	public void setup() {
+		framework = DefaultFramework.get();
+		switch(type) {
+		case "string":
+			value = "Joe Bloggs";
+			break;
+		case "integer":
+			value = 27;
+			break;
+		case "double":
+			value = 12.5d;
+			break;
+		case "boolean":
+			value = true;
+			break;
+		case "enum":
+			value = Fixtures.Role.USER;
+			break;
+		case "uri":
+			value = URI.create("https://acme.com/some/path");
+			break;
+		case "list":
+			value = List.of("red", "green", "blue");
+			break;
+		default:
+			throw new IllegalArgumentException(type);
+		}
+		var form = Form.Builder.typeless().
+				field(f -> f.name("value").value(value)).
+				build();
+		field = form.field("value");
+		text = Field.toValString(framework, field, value);
+	}
+
+	@Benchmark
+	public Object valueOf() {
+		return Field.valueOf(framework, field, text);
+	}
+
+	@Benchmark
+	public String toValString() {
+		return Field.toValString(framework, field, value);
+	}
+}
@@ -0,0 +1,171 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.net.URI;
+import java.util.function.Consumer;
+
+import com.sshtools.tinytemplate.Templates.TemplateProcessor;
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.FormDataReceiver;
+import com.sshtools.tinytemplate.bootstrap.forms.InputType;
+import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormField;
+
+/**
+ * Forms and objects shared by the benchmarks.
+ */
+final class Fixtures {
+
+	public enum Role {
+		ADMINISTRATOR, USER, GUEST
+	}
+
+	public final static class Person {
+		private String name = "Joe Bloggs";
+		private String email = "joe@acme.com";
+		private int age = 27;
+		private boolean active = true;
+		private Role role = Role.USER;
+		private double score = 12.5;
+		private URI website = URI.create("https://acme.com");
+		@FormField(type = InputType.TEXTAREA)
+		private String notes = "Some notes";
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public Role getRole() {
+			return role;
+		}
+
+		public void setRole(Role role) {
+			this.role = role;
+		}
+
+		public double getScore() {
+			return score;
+		}
+
+		public void setScore(double score) {
+			this.score = score;
+		}
+
+		public URI getWebsite() {
+			return website;
+		}
+
+		public void setWebsite(URI website) {
+			this.website = website;
+		}
+
+		public String getNotes() {
+			return notes;
+		}
+
+		public void setNotes(String notes) {
+			this.notes = notes;
+		}
+	}
+
+	private Fixtures() {
+	}
+
+	/**
+	 * A template processor with default settings.
+	 *
+	 * @return processor
+	 */
+	static TemplateProcessor processor() {
+		return new TemplateProcessor.Builder().build();
+	}
+
+	/**
+	 * Render a form to a string.
+	 *
+	 * @param processor processor
+	 * @param form form
+	 * @return HTML
+	 */
+	static String render(TemplateProcessor processor, Form<?> form) {
+		return processor.process(form.model());
+	}
+
+	/**
+	 * Build a typeless form of text fields, optionally split across sections.
+	 *
+	 * @param sections number of sections, or zero for none
+	 * @param fields number of fields (per section if there are any)
+	 * @return form
+	 */
+	static Form<Void> textForm(int sections, int fields) {
+		return textForm(sections, fields, false);
+	}
+
+	/**
+	 * Build a typeless form of text fields, optionally split across sections that
+	 * are rendered lazily.
+	 *
+	 * @param sections number of sections, or zero for none
+	 * @param fields number of fields (per section if there are any)
+	 * @param lazy render only the active section
+	 * @return form
+	 */
+	static Form<Void> textForm(int sections, int fields, boolean lazy) {
+		var bldr = Form.Builder.typeless();
+		if(lazy) {
+			bldr.lazySections("/section");
+		}
+		for(int s = 0; s < Math.max(1, sections); s++) {
+			if(sections > 0) {
+				bldr.section("section" + s, "Section " + s);
+			}
+			for(int i = 0; i < fields; i++) {
+				var name = "field" + s + "_" + i;
+				bldr.field(f -> f.name(name).label("Field " + name).help("Help for " + name).value("Value"));
+			}
+		}
+		return bldr.build();
+	}
+
+	/**
+	 * A receiver that posts the same value to every named field.
+	 *
+	 * @param names field names
+	 * @param value value
+	 * @return receiver
+	 */
+	static Consumer<FormDataReceiver> post(Iterable<String> names, String value) {
+		return r -> {
+			for(var name : names) {
+				r.field(r.field(name), value);
+			}
+		};
+	}
+}
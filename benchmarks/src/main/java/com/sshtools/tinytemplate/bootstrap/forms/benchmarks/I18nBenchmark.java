@@ -0,0 +1,104 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.text.MessageFormat;
+import java.util.ListResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.Templates.TemplateProcessor;
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+import com.sshtools.tinytemplate.bootstrap.forms.Text;
+
+/**
+ * Renders a 100 field form whose bundle has either no entries at all, so
+ * every label, help and placeholder lookup misses, or an entry for every key.
+ * Also compares resolving a {@link Text} with arguments, such as a validation
+ * message, against formatting the pattern from scratch each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class I18nBenchmark {
+
+	private final static int FIELDS = 100;
+
+	public final static class EmptyBundle extends ListResourceBundle {
+		@Override
+		protected Object[][] getContents() {
+			return new Object[0][];
+		}
+	}
+
+	public final static class FullBundle extends ListResourceBundle {
+		@Override
+		protected Object[][] getContents() {
+			var contents = new Object[FIELDS * 3 + 1][];
+			for(int i = 0; i < FIELDS; i++) {
+				contents[i * 3] = new Object[] { "field" + i + ".label", "Field " + i };
+				contents[i * 3 + 1] = new Object[] { "field" + i + ".help", "Help for field " + i };
+				contents[i * 3 + 2] = new Object[] { "field" + i + ".placeholder", "Enter field " + i };
+			}
+			contents[contents.length - 1] = new Object[] { "field.required", "''{0}'' is required." };
+			return contents;
+		}
+	}
+
+	@Param({ "empty", "full" })
+	public String bundle;
+
+	private Form<Void> form;
+	private TemplateProcessor processor;
+	private Text required;
+	private Text plain;
+	private FullBundle fullBundle;
+
+	@Setup
+	public void setup() {
+		var bldr = Form.Builder.typeless().
+				bundle(bundle.equals("empty") ? new EmptyBundle() : new FullBundle());
+		for(int i = 0; i < FIELDS; i++) {
+			var name = "field" + i;
+			bldr.field(f -> f.name(name).value("Value"));
+		}
+		form = bldr.build();
+		processor = new TemplateProcessor.Builder().build();
+
+		fullBundle = new FullBundle();
+		required = Text.ofI18n("field.required", fullBundle, "Field 1");
+		plain = Text.ofI18n("field1.label", fullBundle);
+	}
+
+	@Benchmark
+	public String render() {
+		return processor.process(form.model());
+	}
+
+	@Benchmark
+	public String formatFromScratch() {
+		return MessageFormat.format(fullBundle.getString("field.required"), "Field 1");
+	}
+
+	@Benchmark
+	public String resolveText() {
+		return required.resolveString();
+	}
+
+	@Benchmark
+	public String resolveTextNoArgs() {
+		return plain.resolveString();
+	}
+}
@@ -0,0 +1,59 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.Templates.TemplateProcessor;
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+import com.sshtools.tinytemplate.bootstrap.forms.InputType;
+
+/**
+ * Renders a single field with a large list of options, as a select and as
+ * radio buttons (where each option is a field of its own).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OptionsBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int options;
+
+	@Param({ "SELECT", "RADIO" })
+	public InputType input;
+
+	private Form<Void> form;
+	private TemplateProcessor processor;
+
+	@Setup
+	public void setup() {
+		var values = new ArrayList<String>();
+		for(int i = 0; i < options; i++) {
+			values.add("option" + i);
+		}
+		form = Form.Builder.typeless().
+				field(f -> f.name("choice").input(input).optionValues(values).value("option0")).
+				build();
+		processor = Fixtures.processor();
+	}
+
+	@Benchmark
+	public String render() {
+		return Fixtures.render(processor, form);
+	}
+}
@@ -0,0 +1,72 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.FormDataReceiver;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.Results;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.RangeValidator;
+
+/**
+ * Receives a payload for a form of required, range validated number fields.
+ * A valid payload passes every validator, an invalid one fails every
+ * validator and leaves the second half of the required fields out entirely.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReceiveBenchmark {
+
+	@Param({ "10", "100" })
+	public int fields;
+
+	@Param({ "valid", "invalid" })
+	public String payload;
+
+	private Form<Void> form;
+	private Consumer<FormDataReceiver> receiver;
+
+	@Setup
+	public void setup() {
+		var bldr = Form.Builder.typeless();
+		var names = new ArrayList<String>();
+		for(int i = 0; i < fields; i++) {
+			var name = "number" + i;
+			names.add(name);
+			bldr.<Integer>field(f -> f.
+				name(name).
+				type(Integer.class).
+				required().
+				attr("min", "0").
+				attr("max", "100").
+				validator(new RangeValidator<>()));
+		}
+		form = bldr.build();
+
+		receiver = payload.equals("valid")
+				? Fixtures.post(names, "50")
+				: Fixtures.post(names.subList(0, names.size() / 2), "500");
+	}
+
+	@Benchmark
+	public Results<Void> receive() {
+		return form.receive(receiver);
+	}
+}
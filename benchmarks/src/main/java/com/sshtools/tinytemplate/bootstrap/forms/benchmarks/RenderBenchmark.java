@@ -0,0 +1,54 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.Templates.TemplateModel;
+import com.sshtools.tinytemplate.Templates.TemplateProcessor;
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+
+/**
+ * Builds the model for, and renders, a form of text fields, as the number
+ * of fields grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int fields;
+
+	private Form<Void> form;
+	private TemplateProcessor processor;
+
+	@Setup
+	public void setup() {
+		form = Fixtures.textForm(0, fields);
+		processor = Fixtures.processor();
+	}
+
+	@Benchmark
+	public TemplateModel model() {
+		return form.model();
+	}
+
+	@Benchmark
+	public String render() {
+		return Fixtures.render(processor, form);
+	}
+}
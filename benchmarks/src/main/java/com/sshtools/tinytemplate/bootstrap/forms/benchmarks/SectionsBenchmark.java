@@ -0,0 +1,51 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.Templates.TemplateProcessor;
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+
+/**
+ * Renders a form of 10 fields per section, as the number of sections (and
+ * so tabs) grows, with every tab rendered up front or only the active one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SectionsBenchmark {
+
+	@Param({ "1", "5", "20", "50" })
+	public int sections;
+
+	@Param({ "false", "true" })
+	public boolean lazy;
+
+	private Form<Void> form;
+	private TemplateProcessor processor;
+
+	@Setup
+	public void setup() {
+		form = Fixtures.textForm(sections, 10, lazy);
+		processor = Fixtures.processor();
+	}
+
+	@Benchmark
+	public String render() {
+		return Fixtures.render(processor, form);
+	}
+}
@@ -0,0 +1,105 @@
+package com.sshtools.tinytemplate.bootstrap.forms.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Field;
+import com.sshtools.tinytemplate.bootstrap.forms.Form;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.FormDataReceiver;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.Results;
+import com.sshtools.tinytemplate.bootstrap.forms.Text;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.ResultValidator;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.ValidationException;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.Validator;
+
+/**
+ * Receives a failure heavy payload, where every field fails validation, using
+ * validators that report failure in different ways.
+ * <ul>
+ * <li><code>stack</code> throws an exception with a stack trace, as validation exceptions used to be</li>
+ * <li><code>stackless</code> throws the default, stackless {@link ValidationException}</li>
+ * <li><code>result</code> returns the failure from a {@link ResultValidator}, nothing is thrown</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+	@SuppressWarnings("serial")
+	private final static class StackValidationException extends ValidationException {
+		StackValidationException(Field<?, ?> field) {
+			super(field, (Text)null, true);
+		}
+	}
+
+	@Param({ "stack", "stackless", "result" })
+	public String failure;
+
+	@Param({ "10", "100" })
+	public int fields;
+
+	private Form<Void> form;
+	private Consumer<FormDataReceiver> receiver;
+
+	@Setup
+	public void setup() {
+		var bldr = Form.Builder.typeless();
+		var names = new ArrayList<String>();
+		for(int i = 0; i < fields; i++) {
+			var name = "number" + i;
+			names.add(name);
+			bldr.<Integer>field(f -> f.
+				name(name).
+				type(Integer.class).
+				validator(validator()));
+		}
+		form = bldr.build();
+		receiver = Fixtures.post(names, "500");
+	}
+
+	@Benchmark
+	public Results<Void> receive() {
+		return form.receive(receiver);
+	}
+
+	private Validator<Integer> validator() {
+		switch(failure) {
+		case "stack":
+			return (f, v) -> {
+				if(outOfRange(v))
+					throw new StackValidationException(f);
+			};
+		case "stackless":
+			return (f, v) -> {
+				if(outOfRange(v))
+					throw new ValidationException(f);
+			};
+		default:
+			return (ResultValidator<Integer>)(f, v) -> outOfRange(v) 
+					? Optional.of(new ValidationException(f)) 
+					: Optional.empty();
+		}
+	}
+
+	private static boolean outOfRange(int value) {
+		return value < 0 || value > 100;
+	}
+}
@@ -0,0 +1,491 @@
+package com.sshtools.tinytemplate.bootstrap.forms.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a <code>FormDescriptor</code> for every type that uses <code>@FormObject</code>
+ * or <code>@FormField</code>, following the same rules <code>ReflectiveForm</code> uses when
+ * it scans a type at runtime. Accessors are plain lambdas, so forms may be built with no
+ * reflection at all.
+ * <p>
+ * Each descriptor is registered in <code>META-INF/services</code>. Applications in a named
+ * module must also declare it in <code>module-info.java</code>, e.g.
+ * <code>provides com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor with com.acme.PersonFormDescriptor;</code>
+ * <p>
+ * Members that are private cannot be accessed by the generated code, so will not be
+ * bound to the form unless they also have a non-private getter or setter.
+ */
+@SupportedAnnotationTypes({
+	FormDescriptorProcessor.FORM_OBJECT,
+	FormDescriptorProcessor.FORM_FIELD
+})
+public class FormDescriptorProcessor extends AbstractProcessor {
+
+	final static String FORMS_PACKAGE = "com.sshtools.tinytemplate.bootstrap.forms";
+	final static String FORM_OBJECT = FORMS_PACKAGE + ".annotations.FormObject";
+	final static String FORM_FIELD = FORMS_PACKAGE + ".annotations.FormField";
+	final static String FORM_DESCRIPTOR = FORMS_PACKAGE + ".FormDescriptor";
+	final static String SUFFIX = "FormDescriptor";
+
+	private final Set<String> generated = new LinkedHashSet<>();
+
+	private record Property(String name, TypeMirror type, Optional<AnnotationMirror> options, Optional<String> getter, Optional<String> setter) {
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if(roundEnv.processingOver()) {
+			writeServices();
+		}
+		else {
+			var types = new LinkedHashSet<TypeElement>();
+			for(var annotation : annotations) {
+				for(var el : roundEnv.getElementsAnnotatedWith(annotation)) {
+					var type = el instanceof TypeElement te ? te : enclosingType(el);
+					if(type != null) {
+						types.add(type);
+					}
+				}
+			}
+			for(var type : types) {
+				if(accessible(type)) {
+					generate(type);
+				}
+				else {
+					processingEnv.getMessager().printMessage(Kind.NOTE, "Not generating a form descriptor for an inaccessible type, reflection will be used.", type);
+				}
+			}
+		}
+		return false;
+	}
+
+	private void generate(TypeElement type) {
+		var elements = processingEnv.getElementUtils();
+		var formObject = annotation(type, FORM_OBJECT);
+		var formObjectValues = formObject.map(elements::getElementValuesWithDefaults);
+		var all = formObjectValues.map(v -> (Boolean)value(v, "all")).orElse(true);
+		var publicOnly = formObjectValues.map(v -> (Boolean)value(v, "declared")).orElse(false);
+		var id = formObjectValues.map(v -> (String)value(v, "id")).filter(s -> !s.equals(""));
+
+		List<? extends Element> members = publicOnly
+				? elements.getAllMembers(type).stream().filter(e -> e.getModifiers().contains(Modifier.PUBLIC)).toList()
+				: type.getEnclosedElements();
+
+		var properties = new LinkedHashMap<String, Property>();
+
+		// Fields
+
+		for(var field : ElementFilter.fieldsIn(members)) {
+			if(field.getModifiers().contains(Modifier.STATIC)) {
+				continue;
+			}
+			var annot = annotation(field, FORM_FIELD);
+			if(included(all, annot)) {
+				var name = field.getSimpleName().toString();
+				var accessible = !field.getModifiers().contains(Modifier.PRIVATE);
+				properties.put(name, new Property(
+					name,
+					field.asType(),
+					annot,
+					accessible ? Optional.of("o -> o." + name) : Optional.empty(),
+					accessible && !field.getModifiers().contains(Modifier.FINAL)
+						? Optional.of("(o, v) -> o." + name + " = " + cast(field.asType(), "v"))
+						: Optional.empty()
+				));
+			}
+		}
+
+		// Methods
+
+		for(var method : ElementFilter.methodsIn(members)) {
+			if(method.getModifiers().contains(Modifier.STATIC) || !method.getParameters().isEmpty()) {
+				continue;
+			}
+			var returnType = method.getReturnType();
+			if(returnType.getKind() == TypeKind.VOID || isType(returnType, "java.lang.Void")) {
+				continue;
+			}
+
+			var name = isGetter(method.getSimpleName().toString());
+			if(name == null) {
+				continue;
+			}
+
+			var annot = annotation(method, FORM_FIELD);
+			if(annot.isEmpty() && (
+					name.equals("class") ||
+					name.equals("toString") ||
+					name.equals("hashCode")
+				)) {
+				continue;
+			}
+
+			if(included(all, annot)) {
+				var existing = Optional.ofNullable(properties.get(name));
+				var getter = method.getModifiers().contains(Modifier.PRIVATE)
+						? Optional.<String>empty()
+						: Optional.of("o -> o." + method.getSimpleName() + "()");
+				var setter = setter(type, name, returnType);
+				properties.put(name, new Property(
+					name,
+					returnType,
+					annot.or(() -> existing.flatMap(Property::options)),
+					getter.or(() -> existing.flatMap(Property::getter)),
+					setter.or(() -> existing.flatMap(Property::setter))
+				));
+			}
+		}
+
+		for(var property : properties.values()) {
+			if(property.getter().isEmpty() && property.setter().isEmpty()) {
+				processingEnv.getMessager().printMessage(Kind.NOTE,
+						"Property '" + property.name() + "' has no non-private field or accessors, so will not be bound.", type);
+			}
+		}
+
+		write(type, id, properties.values());
+	}
+
+	private void write(TypeElement type, Optional<String> id, Iterable<Property> properties) {
+		var pkg = processingEnv.getElementUtils().getPackageOf(type);
+		var pkgName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+		var simpleName = flattenedName(type) + SUFFIX;
+		var qualifiedName = pkgName.equals("") ? simpleName : pkgName + "." + simpleName;
+		var typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+		var descriptorType = FORM_DESCRIPTOR + "<" + typeName + ">";
+
+		try(var out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+			out.println("// Generated by " + getClass().getName() + ", do not edit.");
+			if(!pkgName.equals("")) {
+				out.println("package " + pkgName + ";");
+				out.println();
+			}
+			out.println("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })");
+			out.println("public final class " + simpleName + " implements " + descriptorType + " {");
+			out.println();
+
+			/* Properties */
+			out.println("	private final static java.util.List<" + FORM_DESCRIPTOR + ".PropertyDescriptor<" + typeName + ">> PROPERTIES = java.util.List.of(");
+			out.println(String.join(",\n", streamOf(properties).map(p -> "		" + property(typeName, p)).toList()));
+			out.println("	);");
+			out.println();
+
+			/* Components */
+			out.println("	private final static java.util.List<" + FORM_DESCRIPTOR + ".ComponentDescriptor<" + typeName + ">> COMPONENTS = java.util.List.of(");
+			if(type.getKind() == ElementKind.RECORD) {
+				out.println(String.join(",\n", type.getRecordComponents().stream().map(rc ->
+					"		new " + FORM_DESCRIPTOR + ".ComponentDescriptor<>(" + literal(rc.getSimpleName().toString()) +
+					", java.util.Optional.<java.util.function.Function<" + typeName + ", Object>>of(o -> o." + rc.getAccessor().getSimpleName() + "()))"
+				).toList()));
+			}
+			out.println("	);");
+			out.println();
+
+			/* Constructor */
+			out.println("	private final static java.util.Optional<java.util.function.Function<Object[], " + typeName + ">> CONSTRUCTOR = " + constructor(type, typeName) + ";");
+			out.println();
+
+			method(out, "Class<" + typeName + ">", "type", typeName + ".class");
+			method(out, "java.util.Optional<String>", "id", id.map(s -> "java.util.Optional.of(" + literal(s) + ")").orElse("java.util.Optional.empty()"));
+			method(out, "java.util.List<" + FORM_DESCRIPTOR + ".PropertyDescriptor<" + typeName + ">>", "properties", "PROPERTIES");
+			method(out, "java.util.List<" + FORM_DESCRIPTOR + ".ComponentDescriptor<" + typeName + ">>", "components", "COMPONENTS");
+			method(out, "java.util.Optional<java.util.function.Function<Object[], " + typeName + ">>", "constructor", "CONSTRUCTOR");
+
+			out.println("}");
+		}
+		catch(IOException ioe) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Failed to write form descriptor. " + ioe.getMessage(), type);
+			return;
+		}
+
+		generated.add(qualifiedName);
+	}
+
+	private String property(String typeName, Property property) {
+		return "new " + FORM_DESCRIPTOR + ".PropertyDescriptor<>(" +
+				literal(property.name()) + ", " +
+				classLiteral(property.type()) + ", " +
+				property.options().map(this::options).orElse("java.util.Optional.empty()") + ", " +
+				property.getter().map(g -> "java.util.Optional.<java.util.function.Function<" + typeName + ", Object>>of(" + g + ")").orElse("java.util.Optional.empty()") + ", " +
+				property.setter().map(s -> "java.util.Optional.<java.util.function.BiConsumer<" + typeName + ", Object>>of(" + s + ")").orElse("java.util.Optional.empty()") +
+				")";
+	}
+
+	private String options(AnnotationMirror annot) {
+		var values = processingEnv.getElementUtils().getElementValuesWithDefaults(annot);
+		var id = (String)value(values, "id");
+		var attrs = ((List<?>)value(values, "attrs")).stream().map(v -> literal((String)((AnnotationValue)v).getValue())).toList();
+		return "java.util.Optional.of(new " + FORM_DESCRIPTOR + ".FieldOptions(" +
+			(id.equals("") ? "java.util.Optional.empty()" : "java.util.Optional.of(" + literal(id) + ")") + ", " +
+			FORMS_PACKAGE + ".InputType." + ((VariableElement)value(values, "type")).getSimpleName() + ", " +
+			value(values, "span") + ", " +
+			value(values, "noLabel") + ", " +
+			text(values, "label") + ", " +
+			text(values, "help") + ", " +
+			text(values, "placeholder") + ", " +
+			FORM_DESCRIPTOR + ".attrs(" + String.join(", ", attrs) + ")" +
+			"))";
+	}
+
+	private String text(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String prefix) {
+		var text = (String)value(values, prefix);
+		var key = (String)value(values, prefix + "Key");
+		var bundle = (TypeMirror)value(values, prefix + "Bundle");
+		var noBundle = isType(bundle, "java.lang.Void");
+		if(text.equals("") && key.equals("") && noBundle) {
+			return "java.util.Optional.empty()";
+		}
+		return "java.util.Optional.of(new " + FORM_DESCRIPTOR + ".TextDescriptor(" +
+			(text.equals("") ? "java.util.Optional.empty()" : "java.util.Optional.of(" + literal(text) + ")") + ", " +
+			(key.equals("") ? "java.util.Optional.empty()" : "java.util.Optional.of(" + literal(key) + ")") + ", " +
+			(noBundle ? "java.util.Optional.empty()" : "java.util.Optional.<Class<?>>of(" + processingEnv.getTypeUtils().erasure(bundle) + ".class)") +
+			"))";
+	}
+
+	private String constructor(TypeElement type, String typeName) {
+		if(type.getModifiers().contains(Modifier.ABSTRACT) ||
+		   (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC) && type.getKind() == ElementKind.CLASS)) {
+			return "java.util.Optional.empty()";
+		}
+
+		if(type.getKind() == ElementKind.RECORD) {
+			var args = new ArrayList<String>();
+			var components = type.getRecordComponents();
+			for(int i = 0 ; i < components.size(); i++) {
+				args.add(cast(components.get(i).asType(), "args[" + i + "]"));
+			}
+			return "java.util.Optional.of(args -> new " + typeName + "(" + String.join(", ", args) + "))";
+		}
+
+		for(var ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if(ctor.getParameters().isEmpty() && !ctor.getModifiers().contains(Modifier.PRIVATE)) {
+				return "java.util.Optional.of(args -> new " + typeName + "())";
+			}
+		}
+
+		return "java.util.Optional.empty()";
+	}
+
+	private Optional<String> setter(TypeElement type, String name, TypeMirror valueType) {
+		var setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		var typeUtils = processingEnv.getTypeUtils();
+		for(var method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+			if(method.getSimpleName().contentEquals(setterName) &&
+			   method.getParameters().size() == 1 &&
+			   !method.getModifiers().contains(Modifier.STATIC) &&
+			   !method.getModifiers().contains(Modifier.PRIVATE) &&
+			   typeUtils.isSameType(method.getParameters().get(0).asType(), valueType)) {
+				return Optional.of("(o, v) -> o." + setterName + "(" + cast(valueType, "v") + ")");
+			}
+		}
+		return Optional.empty();
+	}
+
+	private void writeServices() {
+		if(generated.isEmpty()) {
+			return;
+		}
+		
+		/* Keep descriptors registered by an earlier, e.g. incremental, compilation, as 
+		 * long as they still exist
+		 */
+		var filer = processingEnv.getFiler();
+		var resource = "META-INF/services/" + FORM_DESCRIPTOR;
+		var names = new LinkedHashSet<String>();
+		try(var in = new BufferedReader(filer.getResource(StandardLocation.CLASS_OUTPUT, "", resource).openReader(true))) {
+			String line;
+			while((line = in.readLine()) != null) {
+				var idx = line.indexOf('#');
+				var name = (idx == -1 ? line : line.substring(0, idx)).trim();
+				if(!name.equals("") && processingEnv.getElementUtils().getTypeElement(name) != null) {
+					names.add(name);
+				}
+			}
+		}
+		catch(IOException | IllegalArgumentException e) {
+			/* No existing resource */
+		}
+		names.addAll(generated);
+		
+		try(Writer out = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resource).openWriter()) {
+			for(var name : names) {
+				out.write(name);
+				out.write('\n');
+			}
+		}
+		catch(IOException ioe) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Failed to write form descriptor services. " + ioe.getMessage());
+		}
+	}
+
+	private void method(PrintWriter out, String returnType, String name, String expression) {
+		out.println("	@Override");
+		out.println("	public " + returnType + " " + name + "() {");
+		out.println("		return " + expression + ";");
+		out.println("	}");
+		out.println();
+	}
+
+	private String cast(TypeMirror type, String expr) {
+		if(type.getKind().isPrimitive()) {
+			return "(" + expr + " == null ? " + zero(type.getKind()) + " : (" + boxed(type) + ")" + expr + ")";
+		}
+		else {
+			return "(" + processingEnv.getTypeUtils().erasure(type) + ")" + expr;
+		}
+	}
+
+	private String classLiteral(TypeMirror type) {
+		return ( type.getKind().isPrimitive() ? boxed(type) : processingEnv.getTypeUtils().erasure(type).toString() ) + ".class";
+	}
+
+	private String boxed(TypeMirror type) {
+		return processingEnv.getTypeUtils().boxedClass((PrimitiveType)type).getQualifiedName().toString();
+	}
+
+	private String literal(String str) {
+		return processingEnv.getElementUtils().getConstantExpression(str);
+	}
+
+	private static String zero(TypeKind kind) {
+		switch(kind) {
+		case BOOLEAN:
+			return "false";
+		case CHAR:
+			return "'\\0'";
+		case BYTE:
+			return "(byte)0";
+		case SHORT:
+			return "(short)0";
+		case LONG:
+			return "0L";
+		case FLOAT:
+			return "0f";
+		case DOUBLE:
+			return "0d";
+		default:
+			return "0";
+		}
+	}
+
+	private static boolean included(boolean all, Optional<AnnotationMirror> annot) {
+		var exclude = annot.map(a -> a.getElementValues().entrySet().stream().
+				filter(en -> en.getKey().getSimpleName().contentEquals("exclude")).
+				map(en -> (Boolean)en.getValue().getValue()).
+				findFirst().orElse(false)).orElse(false);
+		return (all && !exclude) || (!all && annot.isPresent() && !exclude);
+	}
+
+	private static Object value(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+		return values.entrySet().stream().
+				filter(en -> en.getKey().getSimpleName().contentEquals(name)).
+				map(en -> en.getValue().getValue()).
+				findFirst().
+				orElseThrow(() -> new IllegalStateException("No annotation value " + name));
+	}
+
+	private static Optional<AnnotationMirror> annotation(Element element, String annotationType) {
+		return element.getAnnotationMirrors().stream().
+				filter(m -> ((TypeElement)m.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)).
+				map(m -> (AnnotationMirror)m).
+				findFirst();
+	}
+
+	private static boolean isType(TypeMirror type, String name) {
+		return type instanceof DeclaredType dt && ((TypeElement)dt.asElement()).getQualifiedName().contentEquals(name);
+	}
+
+	private static TypeElement enclosingType(Element el) {
+		var enc = el.getEnclosingElement();
+		while(enc != null && !(enc instanceof TypeElement)) {
+			enc = enc.getEnclosingElement();
+		}
+		return (TypeElement)enc;
+	}
+
+	private static boolean accessible(TypeElement type) {
+		Element el = type;
+		while(el instanceof TypeElement te) {
+			if(te.getModifiers().contains(Modifier.PRIVATE) ||
+			   te.getNestingKind() == NestingKind.LOCAL ||
+			   te.getNestingKind() == NestingKind.ANONYMOUS) {
+				return false;
+			}
+			el = te.getEnclosingElement();
+		}
+		return el instanceof PackageElement &&
+				(type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.RECORD || type.getKind() == ElementKind.INTERFACE);
+	}
+
+	private static String flattenedName(TypeElement type) {
+		var name = new StringBuilder(type.getSimpleName());
+		for(var enc = type.getEnclosingElement(); enc instanceof TypeElement te; enc = te.getEnclosingElement()) {
+			name.insert(0, te.getSimpleName() + "_");
+		}
+		return name.toString();
+	}
+
+	private static String isGetter(String name) {
+		if(name.startsWith("get")) {
+			if(name.length() > 3 && Character.isUpperCase(name.charAt(3))) {
+				return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+			}
+			else
+				return null;
+		}
+		else if(name.startsWith("is")) {
+			if(name.length() > 2 && Character.isUpperCase(name.charAt(2))) {
+				return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+			}
+			else
+				return null;
+		}
+		else if(Character.isLowerCase(name.charAt(0)))
+			return name;
+		else
+			return null;
+	}
+
+	private static <T> Stream<T> streamOf(Iterable<T> it) {
+		return StreamSupport.stream(it.spliterator(), false);
+	}
+}
@@ -0,0 +1,174 @@
+package com.sshtools.tinytemplate.bootstrap.forms.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sshtools.tinytemplate.Templates;
+import com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor;
+import com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor.PropertyDescriptor;
+
+/**
+ * Runs {@link FormDescriptorProcessor} over real sources using the system Java compiler,
+ * then checks both the generated source and the service registration, and that the
+ * generated descriptor works.
+ */
+class FormDescriptorProcessorTest {
+
+	private final static String SERVICES = "META-INF/services/" + FormDescriptor.class.getName();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void generatesDescriptorAndService() throws Exception {
+		source("com/acme/Person.java", """
+				package com.acme;
+
+				import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormField;
+				import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormObject;
+
+				@FormObject(id = "person", declared = false)
+				public class Person {
+					@FormField(label = "Full name")
+					String name = "Joe";
+					private int age = 27;
+					private String secret;
+
+					public int getAge() {
+						return age;
+					}
+
+					public void setAge(int age) {
+						this.age = age;
+					}
+				}
+				""");
+
+		assertTrue(compile(dir.resolve("classes"), "com/acme/Person.java"));
+
+		var generated = Files.readString(dir.resolve("generated/com/acme/PersonFormDescriptor.java"));
+		assertTrue(generated.contains("public final class PersonFormDescriptor implements " + FormDescriptor.class.getName() + "<com.acme.Person>"), generated);
+		assertTrue(generated.contains("o -> o.name"), generated);
+		assertTrue(generated.contains("o -> o.getAge()"), generated);
+		assertTrue(generated.contains("o.setAge("), generated);
+		assertFalse(generated.contains("o.secret"), generated);
+
+		assertEquals(List.of("com.acme.PersonFormDescriptor"), services(dir.resolve("classes")));
+
+		try(var ldr = new URLClassLoader(new java.net.URL[] { dir.resolve("classes").toUri().toURL() }, FormDescriptor.class.getClassLoader())) {
+			var type = ldr.loadClass("com.acme.Person");
+			@SuppressWarnings("unchecked")
+			var descriptor = (FormDescriptor<Object>)ldr.loadClass("com.acme.PersonFormDescriptor").getConstructor().newInstance();
+			assertEquals(type, descriptor.type());
+			assertEquals("person", descriptor.id().orElseThrow());
+			assertEquals(List.of("name", "age", "secret"), descriptor.properties().stream().map(PropertyDescriptor::name).toList());
+
+			var obj = descriptor.constructor().orElseThrow().apply(new Object[0]);
+			var age = descriptor.properties().get(1);
+			age.setter().orElseThrow().accept(obj, 42);
+			assertEquals(42, age.getter().orElseThrow().apply(obj));
+			age.setter().orElseThrow().accept(obj, null);
+			assertEquals(0, age.getter().orElseThrow().apply(obj));
+
+			var secret = descriptor.properties().get(2);
+			assertTrue(secret.getter().isEmpty());
+			assertTrue(secret.setter().isEmpty());
+		}
+	}
+
+	@Test
+	void mergesExistingServices() throws Exception {
+		source("com/acme/Address.java", """
+				package com.acme;
+
+				import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormObject;
+
+				@FormObject
+				public record Address(String street, String city) {
+				}
+				""");
+		source("com/acme/Person.java", """
+				package com.acme;
+
+				import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormObject;
+
+				@FormObject
+				public record Person(String name) {
+				}
+				""");
+
+		var classes = dir.resolve("classes");
+		assertTrue(compile(classes, "com/acme/Address.java"));
+		assertEquals(List.of("com.acme.AddressFormDescriptor"), services(classes));
+
+		/* Such as an incremental build, where only one source changed */
+		assertTrue(compile(classes, "com/acme/Person.java"));
+		assertEquals(List.of("com.acme.AddressFormDescriptor", "com.acme.PersonFormDescriptor"), services(classes));
+
+		/* Compiling again does not duplicate entries */
+		assertTrue(compile(classes, "com/acme/Person.java"));
+		assertEquals(List.of("com.acme.AddressFormDescriptor", "com.acme.PersonFormDescriptor"), services(classes));
+	}
+
+	private void source(String path, String content) throws IOException {
+		var file = dir.resolve("src").resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+	private List<String> services(Path classes) throws IOException {
+		return Files.readAllLines(classes.resolve(SERVICES)).stream().filter(l -> !l.isBlank()).toList();
+	}
+
+	private boolean compile(Path classes, String... sources) throws IOException, URISyntaxException {
+		var compiler = ToolProvider.getSystemJavaCompiler();
+		assumeTrue(compiler != null, "No system Java compiler");
+
+		var generated = dir.resolve("generated");
+		Files.createDirectories(classes);
+		Files.createDirectories(generated);
+
+		try(var fm = compiler.getStandardFileManager(null, null, null)) {
+			var files = fm.getJavaFileObjectsFromPaths(List.of(sources).stream().map(s -> dir.resolve("src").resolve(s)).toList());
+			var options = new ArrayList<String>();
+			options.add("-d");
+			options.add(classes.toString());
+			options.add("-s");
+			options.add(generated.toString());
+			options.add("-classpath");
+			options.add(String.join(File.pathSeparator,
+					classes.toString(),
+					location(FormDescriptor.class),
+					location(Templates.class)));
+			var out = new StringWriter();
+			var task = compiler.getTask(out, fm, null, options, null, files);
+			task.setProcessors(List.of(new FormDescriptorProcessor()));
+			var ok = task.call();
+			if(!ok) {
+				System.err.println(out);
+			}
+			return ok;
+		}
+	}
+
+	private static String location(Class<?> clazz) throws URISyntaxException {
+		return Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+	}
+}
@@ -7,6 +7,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -33,9 +34,14 @@ public abstract class AbstractFormBuilder<T, FORM, BLDR extends AbstractFormBuil
 	boolean floatingLabel;
 	Optional<Text> validFeedback = Optional.empty();
 	boolean feedback = true;
+	boolean trackChanges;
+	Optional<String> lazySections = Optional.empty();
+	Optional<String> activeSection = Optional.empty();
 	List<FormSection<T>> sections = new ArrayList<>();
 	Optional<BiConsumer<FORM, String>> onUnknownField = Optional.empty();
 	Optional<Framework> framework = Optional.empty();
+	Optional<FormMetrics> metrics = Optional.empty();
+	Optional<Executor> executor = Optional.empty();
 		
 	protected AbstractFormBuilder(Optional<T> instance, Optional<Class<T>> type) {
 		super();
@@ -69,6 +75,33 @@ public abstract class AbstractFormBuilder<T, FORM, BLDR extends AbstractFormBuil
 		return (BLDR)this;
 	}
 
+	/**
+	 * Fully render only the active section tab, with placeholders for the others. The
+	 * others are fetched from the URL when their tab is first shown, with the section ID
+	 * in the <code>section</code> parameter. Respond to that using 
+	 * {@link Form#renderSection(com.sshtools.tinytemplate.Templates.TemplateProcessor, String)}.
+	 *
+	 * @param url URL to fetch sections from
+	 * @return this for chaining
+	 */
+	@SuppressWarnings("unchecked")
+	public BLDR lazySections(String url) {
+		this.lazySections = Optional.of(url);
+		return (BLDR)this;
+	}
+	
+	/**
+	 * Set the section tab that is initially shown, instead of the first.
+	 *
+	 * @param id section ID
+	 * @return this for chaining
+	 */
+	@SuppressWarnings("unchecked")
+	public BLDR activeSection(String id) {
+		this.activeSection = Optional.of(id);
+		return (BLDR)this;
+	}
+
 	@SuppressWarnings("unchecked")
 	public <F> BLDR field(Consumer<Field.Builder<T, F>> bldr) {
 		var fbldr = new Field.Builder<T, F>(instance);
@@ -83,6 +116,19 @@ public abstract class AbstractFormBuilder<T, FORM, BLDR extends AbstractFormBuil
 		return (BLDR)this;
 	}
 		
+	/**
+	 * Remember the value and feedback of each field when it is rendered, so that
+	 * {@link Form#patch(com.sshtools.tinytemplate.Templates.TemplateProcessor)} can render
+	 * just the fields that have changed since.
+	 *
+	 * @return this for chaining
+	 */
+	@SuppressWarnings("unchecked")
+	public BLDR trackChanges() {
+		this.trackChanges = true;
+		return (BLDR)this;
+	}
+	
 	public BLDR noFeedback() {
 		return feedback(false);
 	}
@@ -201,6 +247,18 @@ public abstract class AbstractFormBuilder<T, FORM, BLDR extends AbstractFormBuil
 		return (BLDR)this;
 	}
 
+	@SuppressWarnings("unchecked")
+	public BLDR metrics(FormMetrics metrics) {
+		this.metrics = Optional.of(metrics);
+		return (BLDR)this;
+	}
+
+	@SuppressWarnings("unchecked")
+	public BLDR executor(Executor executor) {
+		this.executor = Optional.of(executor);
+		return (BLDR)this;
+	}
+
 	public BLDR icon(Icon icon, String... classes) {
 		return icon(icon, Set.of(classes));
 	}
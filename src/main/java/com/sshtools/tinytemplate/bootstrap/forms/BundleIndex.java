@@ -0,0 +1,124 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import java.lang.ref.WeakReference;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which keys a {@link ResourceBundle} does and does not have, so that
+ * looking up a string is a map hit rather than a {@link java.util.MissingResourceException}
+ * every time a key is absent. Each bundle instance is already specific to a base name
+ * and locale, so one index is kept per instance, for as long as the bundle itself is
+ * reachable.
+ * <p>
+ * Parsed {@link MessageFormat} patterns are also kept, in a bounded least recently
+ * used cache per bundle keyed by key and format locale.
+ */
+final class BundleIndex {
+
+	private final static int MAX_FORMATS = 256;
+
+	private final static Map<ResourceBundle, BundleIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * Get the index for a bundle.
+	 *
+	 * @param bundle bundle
+	 * @return index
+	 */
+	static BundleIndex of(ResourceBundle bundle) {
+		return INDEXES.computeIfAbsent(bundle, BundleIndex::new);
+	}
+
+	/**
+	 * Get a string from a bundle, or empty if the bundle has no such key.
+	 *
+	 * @param bundle bundle
+	 * @param key key
+	 * @return string
+	 */
+	static Optional<String> string(ResourceBundle bundle, String key) {
+		return of(bundle).string(key);
+	}
+
+	/**
+	 * Get a string from a bundle formatted with arguments in the default format locale,
+	 * or empty if the bundle has no such key.
+	 *
+	 * @param bundle bundle
+	 * @param key key
+	 * @param args arguments
+	 * @return formatted string
+	 */
+	static Optional<String> format(ResourceBundle bundle, String key, Object... args) {
+		return of(bundle).format(key, Locale.getDefault(Locale.Category.FORMAT), args);
+	}
+
+	private record FormatKey(String key, Locale locale) {
+	}
+
+	/* Weakly held, as the index is the value in a weak map keyed by this bundle */
+	private final WeakReference<ResourceBundle> bundle;
+	private final Map<String, Optional<String>> strings = new ConcurrentHashMap<>();
+	private final Map<FormatKey, MessageFormat> formats = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<FormatKey, MessageFormat> eldest) {
+			return size() > MAX_FORMATS;
+		}
+	};
+
+	private BundleIndex(ResourceBundle bundle) {
+		this.bundle = new WeakReference<>(bundle);
+	}
+
+	/**
+	 * Get a string, or empty if the bundle has no such key.
+	 *
+	 * @param key key
+	 * @return string
+	 */
+	Optional<String> string(String key) {
+		return strings.computeIfAbsent(key, k -> {
+			var rb = bundle.get();
+			return rb == null || !rb.containsKey(k) ? Optional.empty() : Optional.of(rb.getString(k));
+		});
+	}
+
+	/**
+	 * Get a string formatted with arguments, or empty if the bundle has no such key.
+	 * When there are no arguments, and the string has nothing that formatting would
+	 * change, the string is returned as is.
+	 *
+	 * @param key key
+	 * @param locale format locale
+	 * @param args arguments
+	 * @return formatted string
+	 */
+	Optional<String> format(String key, Locale locale, Object... args) {
+		return string(key).map(str -> {
+			if(args.length == 0 && str.indexOf('{') == -1 && str.indexOf('\'') == -1) {
+				return str;
+			}
+			else {
+				return formatter(key, locale, str).format(args);
+			}
+		});
+	}
+
+	private MessageFormat formatter(String key, Locale locale, String pattern) {
+		/* MessageFormat is not thread safe, so each caller gets its own clone
+		 * of the parsed pattern, which is much cheaper than parsing it again */
+		synchronized(formats) {
+			return (MessageFormat)formats.computeIfAbsent(new FormatKey(key, locale), k -> new MessageFormat(pattern, locale)).clone();
+		}
+	}
+}
@@ -0,0 +1,312 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URL;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The HTML constraints of a {@link Field}, i.e. <code>min</code>, <code>max</code>,
+ * <code>step</code>, <code>minlength</code>, <code>maxlength</code> and <code>pattern</code>
+ * attributes, and the implicit constraints of {@link InputType#EMAIL} and {@link InputType#URL}.
+ * <p>
+ * Constraints are compiled once when the field is built. Numbers are parsed to primitives
+ * and patterns are compiled, so checking a value does no parsing. The same constraints are
+ * both enforced by {@link Form#receive(java.util.function.Consumer)} and emitted as
+ * attributes when the field is rendered.
+ * <p>
+ * A <code>pattern</code> is a JavaScript regular expression. Most are also valid Java
+ * regular expressions, but if one is not, a warning is logged and the pattern is only
+ * enforced by the browser.
+ */
+public final class Constraints {
+
+	public enum Violation {
+		MIN, MAX, STEP, MIN_LENGTH, MAX_LENGTH, PATTERN, EMAIL, URL;
+
+		/**
+		 * Key of the message in the default bundle.
+		 *
+		 * @return key
+		 */
+		public String key() {
+			return "field." + name().toLowerCase().replace("_", "");
+		}
+	}
+
+	public final static String MIN = "min";
+	public final static String MAX = "max";
+	public final static String STEP = "step";
+	public final static String MIN_LENGTH = "minlength";
+	public final static String MAX_LENGTH = "maxlength";
+	public final static String PATTERN = "pattern";
+
+	public final static Constraints NONE = new Constraints("", Collections.emptyMap(), Optional.empty(), InputType.TEXT);
+
+	private final static Logger LOG = Logger.getLogger(Constraints.class.getName());
+
+	/* Same as the HTML specification's definition of a valid email address */
+	private final static Pattern EMAIL_PATTERN = Pattern.compile("[a-zA-Z0-9.!#$%&'*+/=?^_`{|}~-]+@[a-zA-Z0-9](?:[a-zA-Z0-9-]{0,61}[a-zA-Z0-9])?(?:\\.[a-zA-Z0-9](?:[a-zA-Z0-9-]{0,61}[a-zA-Z0-9])?)*");
+
+	private final Map<String, String> attrs;
+	private final double min;
+	private final double max;
+	private final double step;
+	private final int minLength;
+	private final int maxLength;
+	private final Optional<Pattern> pattern;
+	private final boolean email;
+	private final boolean url;
+
+	/**
+	 * Compile constraints from field attributes, an optional pattern and the input type.
+	 *
+	 * @param field name of field, for messages
+	 * @param attrs attributes
+	 * @param pattern pattern
+	 * @param type input type
+	 * @return constraints
+	 */
+	public static Constraints compile(String field, Map<String, String> attrs, Optional<String> pattern, InputType type) {
+		if(pattern.isEmpty() && type != InputType.EMAIL && type != InputType.URL &&
+				!attrs.containsKey(MIN) && !attrs.containsKey(MAX) && !attrs.containsKey(STEP) &&
+				!attrs.containsKey(MIN_LENGTH) && !attrs.containsKey(MAX_LENGTH) && !attrs.containsKey(PATTERN)) {
+			return NONE;
+		}
+		return new Constraints(field, attrs, pattern, type);
+	}
+
+	/**
+	 * Format a number as an attribute value, without any unnecessary fraction.
+	 *
+	 * @param number number
+	 * @return attribute value
+	 */
+	public static String toAttr(Number number) {
+		if(number instanceof Double || number instanceof Float) {
+			return BigDecimal.valueOf(number.doubleValue()).stripTrailingZeros().toPlainString();
+		}
+		else if(number instanceof BigDecimal bd) {
+			return bd.stripTrailingZeros().toPlainString();
+		}
+		else {
+			return number.toString();
+		}
+	}
+
+	private Constraints(String field, Map<String, String> attrs, Optional<String> pattern, InputType type) {
+		var map = new LinkedHashMap<String, String>();
+		for(var key : new String[] { MIN, MAX, STEP, MIN_LENGTH, MAX_LENGTH }) {
+			var val = attrs.get(key);
+			if(val != null) {
+				map.put(key, val);
+			}
+		}
+		var patternStr = pattern.or(() -> Optional.ofNullable(attrs.get(PATTERN)));
+		patternStr.ifPresent(p -> map.put(PATTERN, p));
+		this.attrs = Collections.unmodifiableMap(map);
+
+		/* Non-numeric min and max (e.g. for dates) are emitted but not enforced */
+		this.min = number(map.get(MIN));
+		this.max = number(map.get(MAX));
+		this.step = number(map.get(STEP));
+		this.minLength = length(map.get(MIN_LENGTH));
+		this.maxLength = length(map.get(MAX_LENGTH));
+
+		/* As in HTML, the pattern must match the whole value */
+		this.pattern = patternStr.flatMap(p -> pattern(field, p));
+		this.email = type == InputType.EMAIL;
+		this.url = type == InputType.URL;
+	}
+
+	/**
+	 * The attributes to emit when rendering.
+	 *
+	 * @return attributes
+	 */
+	public Map<String, String> attrs() {
+		return attrs;
+	}
+
+	public boolean empty() {
+		return this == NONE;
+	}
+
+	public OptionalDouble min() {
+		return Double.isNaN(min) ? OptionalDouble.empty() : OptionalDouble.of(min);
+	}
+
+	public OptionalDouble max() {
+		return Double.isNaN(max) ? OptionalDouble.empty() : OptionalDouble.of(max);
+	}
+
+	public OptionalDouble step() {
+		return Double.isNaN(step) ? OptionalDouble.empty() : OptionalDouble.of(step);
+	}
+
+	public OptionalInt minLength() {
+		return minLength == -1 ? OptionalInt.empty() : OptionalInt.of(minLength);
+	}
+
+	public OptionalInt maxLength() {
+		return maxLength == -1 ? OptionalInt.empty() : OptionalInt.of(maxLength);
+	}
+
+	public Optional<Pattern> pattern() {
+		return pattern;
+	}
+
+	/**
+	 * Test a value against the constraints. Empty values always pass, it is up to
+	 * the <code>required</code> check to reject those. Each element of a collection or
+	 * array is checked individually.
+	 *
+	 * @param value value
+	 * @return the first constraint violated, or empty if valid
+	 */
+	public Optional<Violation> check(Object value) {
+		if(this == NONE || value == null) {
+			return Optional.empty();
+		}
+		else if(value instanceof Collection<?> col) {
+			for(var item : col) {
+				var res = check(item);
+				if(res.isPresent())
+					return res;
+			}
+			return Optional.empty();
+		}
+		else if(value.getClass().isArray()) {
+			for(int i = 0; i < Array.getLength(value); i++) {
+				var res = check(Array.get(value, i));
+				if(res.isPresent())
+					return res;
+			}
+			return Optional.empty();
+		}
+		else if(value instanceof Number num) {
+			return checkNumber(num.doubleValue());
+		}
+		else if(value instanceof URL || value instanceof URI) {
+			return checkText(value.toString(), false);
+		}
+		else if(value instanceof CharSequence seq) {
+			return checkText(seq, url);
+		}
+		else {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Get the limit a violation refers to, e.g. the minimum value for {@link Violation#MIN}, for
+	 * use in messages.
+	 *
+	 * @param violation violation
+	 * @return limit
+	 */
+	public String limit(Violation violation) {
+		switch(violation) {
+		case MIN:
+			return attrs.get(MIN);
+		case MAX:
+			return attrs.get(MAX);
+		case STEP:
+			return attrs.get(STEP);
+		case MIN_LENGTH:
+			return attrs.get(MIN_LENGTH);
+		case MAX_LENGTH:
+			return attrs.get(MAX_LENGTH);
+		case PATTERN:
+			return attrs.get(PATTERN);
+		default:
+			return "";
+		}
+	}
+
+	private Optional<Violation> checkNumber(double val) {
+		if(!Double.isNaN(min) && val < min)
+			return Optional.of(Violation.MIN);
+		if(!Double.isNaN(max) && val > max)
+			return Optional.of(Violation.MAX);
+		if(!Double.isNaN(step) && step > 0) {
+			var steps = ( val - ( Double.isNaN(min) ? 0 : min ) ) / step;
+			if(Math.abs(steps - Math.rint(steps)) > 1e-9)
+				return Optional.of(Violation.STEP);
+		}
+		return Optional.empty();
+	}
+
+	private Optional<Violation> checkText(CharSequence val, boolean checkUrl) {
+		var len = val.length();
+		if(len == 0)
+			return Optional.empty();
+		if(minLength != -1 && len < minLength)
+			return Optional.of(Violation.MIN_LENGTH);
+		if(maxLength != -1 && len > maxLength)
+			return Optional.of(Violation.MAX_LENGTH);
+		if(email && !EMAIL_PATTERN.matcher(val).matches())
+			return Optional.of(Violation.EMAIL);
+		if(checkUrl && !isUrl(val.toString()))
+			return Optional.of(Violation.URL);
+		if(pattern.isPresent() && !pattern.get().matcher(val).matches())
+			return Optional.of(Violation.PATTERN);
+		return Optional.empty();
+	}
+
+	private static Optional<Pattern> pattern(String field, String pattern) {
+		try {
+			return Optional.of(Pattern.compile("(?:" + pattern + ")"));
+		}
+		catch(PatternSyntaxException pse) {
+			LOG.log(Level.WARNING, MessageFormat.format("Pattern ''{0}'' of field ''{1}'' is not a valid Java regular expression, so will only be enforced by the browser. {2}", pattern, field, pse.getDescription()));
+			return Optional.empty();
+		}
+	}
+
+	private static boolean isUrl(String val) {
+		try {
+			var uri = new URI(val);
+			return uri.isAbsolute();
+		}
+		catch(Exception e) {
+			return false;
+		}
+	}
+
+	private static double number(String val) {
+		if(val == null || val.equals("any")) {
+			return Double.NaN;
+		}
+		try {
+			return Double.parseDouble(val);
+		}
+		catch(NumberFormatException nfe) {
+			return Double.NaN;
+		}
+	}
+
+	private static int length(String val) {
+		if(val == null) {
+			return -1;
+		}
+		try {
+			return Integer.parseInt(val.trim());
+		}
+		catch(NumberFormatException nfe) {
+			return -1;
+		}
+	}
+}
@@ -1,6 +1,12 @@
 package com.sshtools.tinytemplate.bootstrap.forms;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DefaultFramework {
 
@@ -8,7 +14,48 @@ public class DefaultFramework {
 		private final static Framework defaultFramework  = new Bootstrap5Framework();
 	}
 	
+	/* Virtual threads when running on a JVM that has them, otherwise a pool of daemon threads */
+	private final static class AsyncDefaults {
+		private final static Executor defaultExecutor = createExecutor();
+		
+		private static Executor createExecutor() {
+			try {
+				var factory = virtualThreadFactory();
+				/* Thread.ofVirtual() may exist but not be usable, e.g. JDK 19 or 20 without --enable-preview */
+				factory.newThread(() -> {}).start();
+				return r -> factory.newThread(r).start();
+			}
+			catch(ReflectiveOperationException | UnsupportedOperationException e) {
+				var counter = new AtomicInteger();
+				return Executors.newCachedThreadPool(r -> {
+					var thread = new Thread(r, "form-validator-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+		}
+		
+		private static ThreadFactory virtualThreadFactory() throws ReflectiveOperationException {
+			var lookup = MethodHandles.publicLookup();
+			var builderType = Class.forName("java.lang.Thread$Builder");
+			var ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+			var name = lookup.findVirtual(builderType, "name", MethodType.methodType(builderType, String.class, long.class));
+			var factory = lookup.findVirtual(builderType, "factory", MethodType.methodType(ThreadFactory.class));
+			try {
+				return (ThreadFactory)factory.invoke(name.invoke(ofVirtual.invoke(), "form-validator-", 1L));
+			}
+			catch(RuntimeException | Error e) {
+				throw e;
+			}
+			catch(Throwable e) {
+				throw new IllegalStateException("Failed to create virtual thread factory.", e);
+			}
+		}
+	}
+	
 	private static Optional<Framework> framework = Optional.empty();
+	private static Optional<FormMetrics> metrics = Optional.empty();
+	private static Optional<Executor> executor = Optional.empty();
 	
 	public static Framework get() {
 		return framework.orElseGet(() -> Defaults.defaultFramework);
@@ -17,4 +64,27 @@ public class DefaultFramework {
 	public static void set(Framework framework) {
 		DefaultFramework.framework = Optional.ofNullable(framework);
 	}
+
+	public static Optional<FormMetrics> metrics() {
+		return metrics;
+	}
+	
+	public static void metrics(FormMetrics metrics) {
+		DefaultFramework.metrics = Optional.ofNullable(metrics);
+	}
+
+	/**
+	 * Get the executor that asynchronous validators are run on when a form has no
+	 * executor of its own. Unless set, this starts a virtual thread per task where
+	 * available.
+	 *
+	 * @return executor
+	 */
+	public static Executor executor() {
+		return executor.orElseGet(() -> AsyncDefaults.defaultExecutor);
+	}
+	
+	public static void executor(Executor executor) {
+		DefaultFramework.executor = Optional.ofNullable(executor);
+	}
 }
@@ -0,0 +1,278 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Field.FieldDependency;
+
+/**
+ * The {@link Field#depends()} declarations of a form, compiled once when the form is built.
+ * Every dependency must name a field in the same form that has a value, and there may be no
+ * cycles, otherwise an {@link IllegalStateException} is thrown. Dependency values are kept as hashed sets.
+ * <p>
+ * A field with dependencies is visible if any one of them matches, and only if the field it
+ * depends on is itself visible. Fields are ranked in topological order, so evaluating
+ * them in rank order always evaluates the fields depended on first.
+ *
+ * @param <T> type of form
+ */
+final class DependencyGraph<T> {
+
+	private record Dependency<T>(Field<T, ?> target, int targetRank, boolean negate, Set<Object> values) {
+		boolean matches(Object value) {
+			return values.contains(value) != negate;
+		}
+	}
+
+	private final static byte UNKNOWN = 0;
+	private final static byte VISIBLE = 1;
+	private final static byte HIDDEN = 2;
+
+	private final Map<Field<T, ?>, Integer> ranks;
+	private final List<Field<T, ?>> order;
+	private final List<List<Dependency<T>>> dependencies;
+	private final List<List<Field<T, ?>>> dependents;
+	private final boolean empty;
+
+	DependencyGraph(Map<String, Field<T, ?>> fields) {
+		var edges = new HashMap<Field<T, ?>, List<Field<T, ?>>>();
+		var any = false;
+		for(var field : fields.values()) {
+			var targets = new ArrayList<Field<T, ?>>();
+			for(var dep : field.depends()) {
+				var target = fields.get(dep.name());
+				if(target == null) {
+					throw new IllegalStateException(MessageFormat.format("Field ''{0}'' depends on ''{1}'', which is not in the form.", field.resolveName(), dep.name()));
+				}
+				if(target.listUpdate().isPresent() && target.value().isEmpty()) {
+					throw new IllegalStateException(MessageFormat.format("Field ''{0}'' depends on ''{1}'', which only receives list changes so has no value.", field.resolveName(), dep.name()));
+				}
+				targets.add(target);
+				any = true;
+			}
+			edges.put(field, targets);
+		}
+		this.empty = !any;
+
+		/* Depth first, in declaration order, so fields without dependencies keep their order */
+		var sorted = new ArrayList<Field<T, ?>>(fields.size());
+		var state = new HashMap<Field<T, ?>, Boolean>();
+		for(var field : fields.values()) {
+			visit(field, edges, state, sorted, new ArrayList<>());
+		}
+		this.order = Collections.unmodifiableList(sorted);
+
+		var rnks = new HashMap<Field<T, ?>, Integer>();
+		for(int i = 0; i < sorted.size(); i++) {
+			rnks.put(sorted.get(i), i);
+		}
+		this.ranks = Collections.unmodifiableMap(rnks);
+
+		var deps = new ArrayList<List<Dependency<T>>>(sorted.size());
+		for(var field : sorted) {
+			var fdeps = new ArrayList<Dependency<T>>();
+			for(var dep : field.depends()) {
+				var target = fields.get(dep.name());
+				fdeps.add(compile(target, rnks.get(target), dep));
+			}
+			deps.add(Collections.unmodifiableList(fdeps));
+		}
+		this.dependencies = Collections.unmodifiableList(deps);
+
+		var dnts = new ArrayList<List<Field<T, ?>>>(sorted.size());
+		for(int i = 0; i < sorted.size(); i++) {
+			dnts.add(new ArrayList<>(0));
+		}
+		for(var field : sorted) {
+			for(var target : edges.get(field)) {
+				var l = dnts.get(rnks.get(target));
+				if(!l.contains(field)) {
+					l.add(field);
+				}
+			}
+		}
+		this.dependents = Collections.unmodifiableList(dnts);
+	}
+
+	/**
+	 * Whether no field has any dependencies.
+	 *
+	 * @return empty
+	 */
+	boolean empty() {
+		return empty;
+	}
+
+	/**
+	 * All fields, in topological order.
+	 *
+	 * @return fields
+	 */
+	List<Field<T, ?>> order() {
+		return order;
+	}
+
+	/**
+	 * Every field that depends on a field, directly or through other fields.
+	 *
+	 * @param field field
+	 * @return dependents
+	 */
+	Set<Field<T, ?>> dependents(Field<?, ?> field) {
+		var direct = dependents.get(rank(field));
+		if(direct.isEmpty()) {
+			return Collections.emptySet();
+		}
+		var all = new LinkedHashSet<Field<T, ?>>();
+		var queue = new ArrayDeque<Field<T, ?>>(direct);
+		while(!queue.isEmpty()) {
+			var next = queue.poll();
+			if(all.add(next)) {
+				queue.addAll(dependents.get(ranks.get(next)));
+			}
+		}
+		return all;
+	}
+
+	int rank(Field<?, ?> field) {
+		var rank = ranks.get(field);
+		if(rank == null) {
+			throw new IllegalArgumentException(MessageFormat.format("Field ''{0}'' is not in this form.", field.resolveName()));
+		}
+		return rank;
+	}
+
+	/**
+	 * The graph as compact JSON for <code>ttbs.js</code>, an array of each element that may be
+	 * hidden, in topological order, for example :-
+	 * <pre>
+	 * [{"id":"form-group-extra","name":"extra","depends":[{"name":"mode","negate":false,"values":["a","b"]}]}]
+	 * </pre>
+	 * Values are strings, as they would be submitted.
+	 *
+	 * @param ids function to get the ID of the element that is hidden for a field, if it may be
+	 * @return JSON
+	 */
+	String toJson(Function<Field<T, ?>, Optional<String>> ids) {
+		var bldr = new StringBuilder("[");
+		for(int i = 0; i < order.size(); i++) {
+			var deps = dependencies.get(i);
+			if(deps.isEmpty()) {
+				continue;
+			}
+			var field = order.get(i);
+			var id = ids.apply(field);
+			if(id.isEmpty()) {
+				continue;
+			}
+			if(bldr.length() > 1) {
+				bldr.append(',');
+			}
+			bldr.append("{\"id\":");
+			Json.quote(bldr, id.get());
+			bldr.append(",\"name\":");
+			Json.quote(bldr, field.resolveName());
+			bldr.append(",\"depends\":[");
+			for(int j = 0; j < deps.size(); j++) {
+				var dep = deps.get(j);
+				if(j > 0) {
+					bldr.append(',');
+				}
+				bldr.append("{\"name\":");
+				Json.quote(bldr, dep.target().resolveName());
+				bldr.append(",\"negate\":").append(dep.negate()).append(",\"values\":[");
+				var first = true;
+				for(var val : dep.values()) {
+					if(!first) {
+						bldr.append(',');
+					}
+					Json.quote(bldr, Field.toString(dep.target(), val));
+					first = false;
+				}
+				bldr.append("]}");
+			}
+			bldr.append("]}");
+		}
+		return bldr.append(']').toString();
+	}
+
+	/**
+	 * Start evaluating the visibility of fields given their values. Each field is
+	 * evaluated at most once.
+	 *
+	 * @param values function to get the value of a field depended on
+	 * @return evaluation
+	 */
+	Evaluation evaluate(Function<Field<T, ?>, Object> values) {
+		return new Evaluation(values);
+	}
+
+	final class Evaluation {
+		private final Function<Field<T, ?>, Object> values;
+		private final byte[] visibility = new byte[order.size()];
+
+		private Evaluation(Function<Field<T, ?>, Object> values) {
+			this.values = values;
+		}
+
+		boolean visible(Field<T, ?> field) {
+			return visible(rank(field));
+		}
+
+		private boolean visible(int rank) {
+			var vis = visibility[rank];
+			if(vis == UNKNOWN) {
+				/* Ranks of targets are always lower, so this recursion terminates */
+				var deps = dependencies.get(rank);
+				var visible = deps.isEmpty();
+				for(int i = 0; i < deps.size() && !visible; i++) {
+					var dep = deps.get(i);
+					visible = visible(dep.targetRank()) && dep.matches(values.apply(dep.target()));
+				}
+				vis = visible ? VISIBLE : HIDDEN;
+				visibility[rank] = vis;
+			}
+			return vis == VISIBLE;
+		}
+	}
+
+	private static <T> Dependency<T> compile(Field<T, ?> target, int rank, FieldDependency dep) {
+		var values = dep.values().length == 1
+				? Collections.singleton(dep.values()[0])
+				: new HashSet<>(Arrays.asList(dep.values()));
+		return new Dependency<>(target, rank, dep.negate(), values);
+	}
+
+	private static <T> void visit(Field<T, ?> field, Map<Field<T, ?>, List<Field<T, ?>>> edges, Map<Field<T, ?>, Boolean> state, List<Field<T, ?>> sorted, List<Field<T, ?>> path) {
+		var done = state.get(field);
+		if(done == null) {
+			state.put(field, Boolean.FALSE);
+			path.add(field);
+			for(var target : edges.get(field)) {
+				visit(target, edges, state, sorted, path);
+			}
+			path.remove(path.size() - 1);
+			state.put(field, Boolean.TRUE);
+			sorted.add(field);
+		}
+		else if(!done) {
+			var cycle = new ArrayList<String>();
+			for(var f : path.subList(path.indexOf(field), path.size())) {
+				cycle.add(f.resolveName());
+			}
+			cycle.add(field.resolveName());
+			throw new IllegalStateException(MessageFormat.format("Field dependencies contain a cycle, {0}.", String.join(" -> ", cycle)));
+		}
+	}
+}
@@ -15,6 +15,7 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -30,6 +31,7 @@ import java.util.stream.Stream;
 
 import com.sshtools.tinytemplate.Templates.TemplateModel;
 import com.sshtools.tinytemplate.bootstrap.forms.Form.FormFile;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.Cost;
 import com.sshtools.tinytemplate.bootstrap.forms.Validation.Validator;
 
 public final class Field<T, F> extends AbstractElement {
@@ -159,6 +161,10 @@ public final class Field<T, F> extends AbstractElement {
 		return calcValueOf(framework, f, val, clazz);
 	}
 
+	static Object itemValueOf(Framework framework, Field<?, ?> f, String val) {
+		return calcValueOf(framework, f, framework.processValueSubmit(f, val), f.resolveItemType());
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private static <F> F calcValueOf(Framework framework, Field<?, F> f, String val,
 			Class<?> clazz) {
@@ -329,12 +335,15 @@ public final class Field<T, F> extends AbstractElement {
 		private Optional<List<Validator<F>>> validators = Optional.of(new ArrayList<>());
 		private Optional<Supplier<F>> value = Optional.empty();
 		private Optional<Consumer<F>> update = Optional.empty();
+		private Optional<Consumer<ListDelta<Object>>> listUpdate = Optional.empty();
+		private boolean listDelta;
 		private Optional<T> instance;
 		private Optional<Supplier<Boolean>> disabled = Optional.empty();
 		private Optional<Boolean> readOnly = Optional.empty();
 		private Optional<Boolean> floatingLabel = Optional.empty();
 		private boolean noLabel;
 		private boolean required;
+		private boolean failFast;
 		private Optional<Boolean> multiple = Optional.empty();;
 		private Optional<String> pattern = Optional.empty();
 		private Optional<String> dropzone = Optional.empty();
@@ -348,6 +357,7 @@ public final class Field<T, F> extends AbstractElement {
 		private Optional<Set<String>> groupCssClass = Optional.empty();
 		private Optional<Set<String>> labelCssClass = Optional.empty();
 		private Map<String, String> attrs = new HashMap<>();
+		private Map<String, String> constraints = new HashMap<>();
 		private Optional<Supplier<List<Option>>> options = Optional.empty();
 		private Optional<Supplier<TemplateModel>> inputGroupBefore = Optional.empty();
 		private Optional<Supplier<TemplateModel>> inputGroupAfter = Optional.empty();
@@ -370,7 +380,7 @@ public final class Field<T, F> extends AbstractElement {
 		}
 
 		public Field.Builder<T, F> depend(String name, Object... values) {
-			return depends(Arrays.asList(values).stream().map(v -> new FieldDependency(name, values)).toList());
+			return depends(new FieldDependency(name, values));
 		}
 
 		public Field.Builder<T, F> depends(FieldDependency... dependencies) {
@@ -505,6 +515,31 @@ public final class Field<T, F> extends AbstractElement {
 			return this;
 		}
 		
+		public Field.Builder<T, F> min(Number min) {
+			this.constraints.put(Constraints.MIN, Constraints.toAttr(min));
+			return this;
+		}
+		
+		public Field.Builder<T, F> max(Number max) {
+			this.constraints.put(Constraints.MAX, Constraints.toAttr(max));
+			return this;
+		}
+		
+		public Field.Builder<T, F> step(Number step) {
+			this.constraints.put(Constraints.STEP, Constraints.toAttr(step));
+			return this;
+		}
+		
+		public Field.Builder<T, F> minLength(int minLength) {
+			this.constraints.put(Constraints.MIN_LENGTH, String.valueOf(minLength));
+			return this;
+		}
+		
+		public Field.Builder<T, F> maxLength(int maxLength) {
+			this.constraints.put(Constraints.MAX_LENGTH, String.valueOf(maxLength));
+			return this;
+		}
+		
 		public Field.Builder<T, F> dropzone(String dropzone) {
 			this.dropzone = Optional.of(dropzone);
 			return this;
@@ -635,6 +670,42 @@ public final class Field<T, F> extends AbstractElement {
 			return (Builder<T, F>) this;
 		}
 		
+		/**
+		 * Submit changes to this list valued field as a {@link ListDelta}, rather than the whole list.
+		 * The delta is applied to the current value, and the result is received as normal.
+		 * 
+		 * @return this for chaining
+		 */
+		public Field.Builder<T, F> listDelta() {
+			return listDelta(true);
+		}
+		
+		public Field.Builder<T, F> listDelta(boolean listDelta) {
+			this.listDelta = listDelta;
+			return this;
+		}
+		
+		/**
+		 * Submit changes to this list valued field as a {@link ListDelta}, and pass the delta to 
+		 * this callback instead of updating the whole list. 
+		 * <p>
+		 * If the field has a {@link #value(Supplier)}, the delta is applied to it, and the resulting
+		 * list is validated, checked if required, depended on and reported in {@link Form.Results}
+		 * as with any other field. Otherwise, the current value is never needed and only the items
+		 * added are checked against constraints, so the field may not be required, have
+		 * validators or be depended on.
+		 * 
+		 * @param <I> type of item
+		 * @param update callback
+		 * @return this for chaining
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public <I> Field.Builder<T, F> listUpdate(Consumer<ListDelta<I>> update) {
+			this.listUpdate = Optional.of((Consumer)update);
+			this.listDelta = true;
+			return this;
+		}
+		
 		public <G> Field.Builder<T, F> bind(Supplier<G> value, Consumer<G> update) {
 			return value(value).update(update);
 		}
@@ -652,6 +723,25 @@ public final class Field<T, F> extends AbstractElement {
 			return this;
 		}
 		
+		public Field.Builder<T, F> validator(Cost cost, Validator<F> validator) {
+			return validator(Validation.withCost(cost, validator));
+		}
+		
+		/**
+		 * Stop validating this field at the first failure, including a violated constraint, 
+		 * so more expensive validators do not run against a value that is already invalid.
+		 *
+		 * @return this for chaining
+		 */
+		public Field.Builder<T, F> failFast() {
+			return failFast(true);
+		}
+		
+		public Field.Builder<T, F> failFast(boolean failFast) {
+			this.failFast = failFast;
+			return this;
+		}
+		
 		public Field.Builder<T, F> groupCssClass(String... groupCssClasses) {
 			return groupCssClass(Set.of(groupCssClasses));
 		}
@@ -680,6 +770,7 @@ public final class Field<T, F> extends AbstractElement {
 	private final Optional<Text> label;		
 	private final boolean noLabel;				
 	private final boolean required;			
+	private final boolean failFast;
 	private final Optional<Boolean> multiple;
 	private final Optional<String> pattern;
 	private final Optional<Text> help;
@@ -690,6 +781,8 @@ public final class Field<T, F> extends AbstractElement {
 	private final Map<String, String> attrs;
 	private final Optional<Supplier<F>> value;
 	private final Optional<Consumer<F>> update;
+	private final Optional<Consumer<ListDelta<Object>>> listUpdate;
+	private final boolean listDelta;
 	private final Optional<Supplier<List<Option>>> options;
 	private final Optional<Set<String>> groupCssClass;
 	private final Optional<Supplier<Boolean>> disabled;
@@ -704,6 +797,7 @@ public final class Field<T, F> extends AbstractElement {
 	private final Optional<Set<String>> labelCssClass;
 	private final Optional<Function<F, TemplateModel>> renderer;
 	private final Optional<String> dropzone;
+	private final Constraints constraints;
 	
 	private Field(Field.Builder<T, F> bldr) {
 		super(bldr);
@@ -717,6 +811,7 @@ public final class Field<T, F> extends AbstractElement {
 		this.inputGroupAfter = bldr.inputGroupAfter;
 		this.inputGroupBefore = bldr.inputGroupBefore;
 		this.required = bldr.required;
+		this.failFast = bldr.failFast;
 		this.pattern = bldr.pattern;
 		this.disabled = bldr.disabled;
 		this.groupCssClass = bldr.groupCssClass;
@@ -724,6 +819,8 @@ public final class Field<T, F> extends AbstractElement {
 		this.options = bldr.options;
 		this.value = bldr.value;
 		this.update  = bldr.update;
+		this.listUpdate = bldr.listUpdate;
+		this.listDelta = bldr.listDelta;
 		this.inputType = bldr.inputType;
 		this.type = bldr.type;
 		this.itemType = bldr.itemType;
@@ -734,18 +831,40 @@ public final class Field<T, F> extends AbstractElement {
 		this.placeholder = bldr.placeholder;
 		this.depends = Collections.unmodifiableSet(new LinkedHashSet<>(bldr.depends));
 		this.attrs = Collections.unmodifiableMap(new HashMap<>(bldr.attrs));
-		this.validators = bldr.validators.map(vals ->  Collections.unmodifiableList(new ArrayList<>(vals)));
+		this.validators = bldr.validators.map(vals ->  {
+			/* Stable, so validators of the same cost keep their declared order */
+			var sorted = new ArrayList<>(vals);
+			sorted.sort(Comparator.comparing(Validator::cost));
+			return Collections.unmodifiableList(sorted);
+		});
 		this.floatingLabel = resolveInputType().supportsFloating() ? bldr.floatingLabel : Optional.of(false);
+		
+		var constraintAttrs = new HashMap<>(bldr.attrs);
+		constraintAttrs.putAll(bldr.constraints);
+		this.constraints = Constraints.compile(name.or(this::resolveId).orElse(""), constraintAttrs, pattern, resolveInputType());
+		
+		if(listUpdate.isPresent() && value.isEmpty() && (required || validators.map(vs -> !vs.isEmpty()).orElse(false))) {
+			throw new IllegalStateException(MessageFormat.format("Field ''{0}'' passes list changes to listUpdate() without a value, so cannot be required or have validators.", name.or(this::resolveId).orElse("")));
+		}
 	}
 	
 	public Optional<Function<F, TemplateModel>> renderer() {
 		return renderer;
 	}
 
+	/**
+	 * The validators of this field, in the order they are run, i.e. cheapest first.
+	 *
+	 * @return validators
+	 */
 	public Optional<List<Validator<F>>> validators() {
 		return validators;
 	}
 	
+	public boolean failFast() {
+		return failFast;
+	}
+	
 	public Optional<Supplier<List<Option>>> options() {
 		return options;
 	}
@@ -782,6 +901,14 @@ public final class Field<T, F> extends AbstractElement {
 		return update;
 	}
 
+	public Optional<Consumer<ListDelta<Object>>> listUpdate() {
+		return listUpdate;
+	}
+
+	public boolean listDelta() {
+		return listDelta;
+	}
+
 	public Optional<Supplier<TemplateModel>> inputGroupBefore() {
 		return inputGroupBefore;
 	}
@@ -794,6 +921,10 @@ public final class Field<T, F> extends AbstractElement {
 		return pattern;
 	}
 	
+	public Constraints constraints() {
+		return constraints;
+	}
+	
 	public Optional<String> attr(String key) {
 		return Optional.ofNullable(attrs.get(key));
 	}
@@ -873,7 +1004,7 @@ public final class Field<T, F> extends AbstractElement {
 
 	public boolean resolveDisabled() {
 		return disabled().orElseGet(() -> {
-			return update().isEmpty() && !resolveInputType().supportsReadOnly();
+			return update().isEmpty() && listUpdate.isEmpty() && !resolveInputType().supportsReadOnly();
 		});
 	}
 
@@ -949,7 +1080,7 @@ public final class Field<T, F> extends AbstractElement {
 	}
 	
 	boolean resolveReadOnly() {
-		return resolveInputType().supportsReadOnly() && readOnly.orElseGet(() -> update.isEmpty());
+		return resolveInputType().supportsReadOnly() && readOnly.orElseGet(() -> update.isEmpty() && listUpdate.isEmpty());
 	}
 	
 	String resolveName() {
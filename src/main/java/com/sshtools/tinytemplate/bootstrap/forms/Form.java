@@ -5,32 +5,46 @@ import static com.sshtools.tinytemplate.Templates.TemplateModel.ofResource;
 
 import java.io.InputStream;
 import java.text.MessageFormat;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import com.sshtools.tinytemplate.Templates.CloseableTemplateModel;
 import com.sshtools.tinytemplate.Templates.TemplateModel;
 import com.sshtools.tinytemplate.Templates.TemplateProcessor;
-import com.sshtools.tinytemplate.bootstrap.forms.Field.FieldDependency;
 import com.sshtools.tinytemplate.bootstrap.forms.Field.Option;
+import com.sshtools.tinytemplate.bootstrap.forms.FormMetrics.Phase;
 import com.sshtools.tinytemplate.bootstrap.forms.InputType.Value;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.AsyncValidator;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.ResultValidator;
 import com.sshtools.tinytemplate.bootstrap.forms.Validation.ValidationException;
 import com.sshtools.tinytemplate.bootstrap.forms.Validation.Validator;
 
@@ -54,9 +68,58 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		<F> F value(String field);
 		
 		<F> F value(Field<T, ?> field);
+		
+		<F> Optional<F> optionalValue(String field);
+		
+		/**
+		 * Every field whose received value differs from its value when received, in the order
+		 * the fields are in the form. Fields that were not received, or were skipped because
+		 * they are hidden by their dependencies, are not included, nor are fields without a
+		 * value whose {@link ListDelta} was passed to {@link Field#listUpdate()}. Changes are only applied
+		 * if the results are {@link #ok()}.
+		 * 
+		 * @return changes
+		 */
+		List<Change<T, ?>> changes();
+		
+		/**
+		 * Get the change to a single field, if it changed.
+		 * 
+		 * @param <F> type of value
+		 * @param field field
+		 * @return change
+		 */
+		@SuppressWarnings("unchecked")
+		default <F> Optional<Change<T, F>> change(Field<T, F> field) {
+			return changes().stream().filter(c -> c.field().equals(field)).map(c -> (Change<T, F>)c).findFirst();
+		}
+	}
+	
+	/**
+	 * A change to the value of a field, see {@link Results#changes()}.
+	 * 
+	 * @param <T> type of form
+	 * @param <F> type of value
+	 * @param field field
+	 * @param was value before
+	 * @param value value received
+	 */
+	public record Change<T, F>(Field<T, F> field, F was, F value) {
 	}
 	
 	public interface FormDataReceiver {
+		
+		/**
+		 * Name of the parameter <code>ttbs.js</code> submits the manifest of changed fields
+		 * in, as a comma separated list, when a form is submitted partially.
+		 */
+		public final static String MANIFEST = "_fields";
+		
+		/**
+		 * Prefix of the parameters <code>ttbs.js</code> submits {@link ListDelta}s in, followed
+		 * by the field name.
+		 */
+		public final static String DELTA = "_delta.";
 
 		void field(Field<?, ?> field, String val);
 
@@ -64,6 +127,47 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 
 		void file(Field<?, ?> field, FormFile file);
 		
+		/**
+		 * The names of all fields that changed, when receiving partially. Fields in the manifest
+		 * that were not submitted, such as an unchecked checkbox, are received as empty.
+		 * 
+		 * @param fieldNames field names
+		 */
+		void manifest(Collection<String> fieldNames);
+		
+		/**
+		 * Changes to a list valued field, see {@link ListDelta} for the format.
+		 * 
+		 * @param field field
+		 * @param ops operations
+		 */
+		void delta(Field<?, ?> field, String ops);
+		
+		/**
+		 * Receive a submitted parameter by name, passing {@link #MANIFEST} to {@link #manifest(Collection)}
+		 * and {@link #DELTA} parameters to {@link #delta(Field, String)}.
+		 * 
+		 * @param name name
+		 * @param val value
+		 */
+		default void parameter(String name, String val) {
+			if(MANIFEST.equals(name)) {
+				manifest(val.isEmpty() ? Collections.emptyList() : Arrays.asList(val.split(",")));
+			}
+			else if(name.startsWith(DELTA)) {
+				var field = field(name.substring(DELTA.length()));
+				if(field != null) {
+					delta(field, val);
+				}
+			}
+			else {
+				var field = field(name);
+				if(field != null) {
+					field(field, val);
+				}
+			}
+		}
+		
 	}
 	
 	public record FormFile(String filename, String contentType, long contentLength, InputStream in) {
@@ -74,6 +178,71 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		}
 	}
 	
+	/**
+	 * The outcome of validating a single field with {@link Form#validateField(String, String, Map)}.
+	 * 
+	 * @param <T> type of form
+	 * @param field field
+	 * @param state state
+	 * @param message feedback message, as would be rendered
+	 * @param errors all failures
+	 */
+	public record FieldFeedback<T>(Field<T, ?> field, State state, Optional<String> message, List<ValidationException> errors) {
+		
+		public enum State {
+			VALID, INVALID, HIDDEN
+		}
+		
+		public boolean valid() {
+			return state != State.INVALID;
+		}
+		
+		/**
+		 * Get as the JSON object that <code>ttbs.js</code> expects in response to a live
+		 * validation request.
+		 * 
+		 * @return json
+		 */
+		public String toJson() {
+			var bldr = new StringBuilder("{\"state\":");
+			Json.quote(bldr, state.name().toLowerCase());
+			message.ifPresent(msg -> {
+				bldr.append(",\"message\":");
+				Json.quote(bldr, msg);
+			});
+			return bldr.append('}').toString();
+		}
+	}
+	
+	/**
+	 * A fragment of HTML to replace the element with the given ID.
+	 * 
+	 * @param id element ID
+	 * @param html replacement HTML
+	 */
+	public record Patch(String id, String html) {
+		
+		/**
+		 * Get patches as the JSON array that <code>ttbs.js</code> applies.
+		 * 
+		 * @param patches patches
+		 * @return json
+		 */
+		public static String toJson(List<Patch> patches) {
+			var bldr = new StringBuilder("[");
+			for(var patch : patches) {
+				if(bldr.length() > 1)
+					bldr.append(',');
+				bldr.append("{\"id\":");
+				Json.quote(bldr, patch.id);
+				bldr.append(",\"html\":");
+				Json.quote(bldr, patch.html);
+				bldr.append('}');
+			}
+			return bldr.append(']').toString();
+		}
+	}
+	
 	public record ValidationResult<T>(Field<T,?> field, List<ValidationException> errors) {
 		public ValidationException firstError() {
 			return errors.get(0);
@@ -122,11 +291,19 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		}
 	}	
 
+	private final static Map<Locale, ResourceBundle> DEFAULT_BUNDLES = new ConcurrentHashMap<>();
+
 	private final Map<String, Field<T, ?>> fields;
+	private final DependencyGraph<T> dependencies;
+	private final Optional<String> dependencyIndex;
 	private final List<FormSection<T>> sections;
+	private final Map<Field<T, ?>, FormSection<T>> fieldSections;
+	private final Map<FormSection<T>, List<Placement<T>>> layouts;
+	private final Map<Field<T, ?>, Placement<T>> placements;
 	private final Map<Templatable, TemplateResource> templates;
 	private final Map<Icon, Set<String>> icons;
 	private final Optional<ResourceBundle> bundle;
+	private final Optional<BundleIndex> bundleIndex;
 	private final Framework framework;
 	private final Set<String> groupCssClass;
 	private final Set<String> optionsCssClass;
@@ -139,10 +316,23 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 	private final Map<Field<T, ?>, ValidationResult<T>> errors = new HashMap<>();
 	private final Optional<Text> validFeedback;
 	private final Optional<BiConsumer<Form<T>, String>> onUnknownField;
+	private final Optional<FormMetrics> metrics;
+	private final Optional<Executor> executor;
+	private final boolean trackChanges;
+	private final Optional<String> lazySections;
+	private final int activeSection;
+	private final Map<Field<T, ?>, RenderState> renderStates = new HashMap<>();
+	private final Set<Field<T, ?>> dirty = new HashSet<>();
+	private Map<Field<T, ?>, Object> rendered;
+	private DependencyGraph<T>.Evaluation renderVisibility;
 	
 	private Form(Builder<T> bldr) {
 		super(bldr);
 		this.framework = bldr.framework.orElseGet(DefaultFramework::get);
+		this.metrics = bldr.metrics.or(DefaultFramework::metrics);
+		this.executor = bldr.executor;
+		this.trackChanges = bldr.trackChanges;
+		this.lazySections = bldr.lazySections;
 		this.onUnknownField = bldr.onUnknownField;
 		this.validFeedback = bldr.validFeedback;
 		this.feedback = bldr.feedback;
@@ -159,17 +349,43 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 					locale, 
 					bldr.bundleClassLoader.orElseGet(() -> Form.class.getClassLoader()))
 				));
+		this.bundleIndex = bundle.map(BundleIndex::of);
 		
-		this.defaultBundle = ResourceBundle.getBundle(Form.class.getName(), locale, Form.class.getClassLoader());
+		this.defaultBundle = DEFAULT_BUNDLES.computeIfAbsent(locale, l -> ResourceBundle.getBundle(Form.class.getName(), l, Form.class.getClassLoader()));
 		
 		var fm = new LinkedHashMap<String, Field<T, ?>>();
+		var fs = new HashMap<Field<T, ?>, FormSection<T>>();
 		bldr.sections.stream().forEach(grp -> {
-			for(var fld : grp.fields)
+			for(var fld : grp.fields) {
 				fm.put(fld.resolveName(), fld); 
+				fs.put(fld, grp);
+			}
 		});
 		this.fields = Collections.unmodifiableMap(fm);
+		this.fieldSections = Collections.unmodifiableMap(fs);
+		this.dependencies = new DependencyGraph<>(fields);
 		this.sections = Collections.unmodifiableList(bldr.sections);
 		
+		/* Sections are records, so may be equal, but are each laid out */
+		this.layouts = new IdentityHashMap<>();
+		this.placements = new HashMap<>();
+		for(var sec : sections) {
+			var layout = layout(sec.fields());
+			layouts.put(sec, layout);
+			layout.forEach(p -> placements.put(p.field(), p));
+		}
+		
+		/* Only groups may be hidden, see hiddenByDependency() */
+		this.dependencyIndex = dependencies.empty() 
+				? Optional.empty() 
+				: Optional.of(dependencies.toJson(f -> Optional.ofNullable(placements.get(f)).filter(Placement::fills).map(Placement::id)));
+		
+		/* The first section holds fields before any section, so the first tab is the second section */
+		this.activeSection = bldr.activeSection.map(id -> sections.indexOf(section(id))).orElse(1);
+		if(activeSection == 0) {
+			throw new IllegalArgumentException("The active section must be a tab.");
+		}
+		
 		var allTemplates = new HashMap<Templatable, TemplateResource>(framework.defaultTemplates());
 		allTemplates.putAll(bldr.templates);
 		this.templates = Collections.unmodifiableMap(allTemplates);
@@ -187,27 +403,236 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		return sections;
 	}
 	
+	public String render(TemplateProcessor processor) {
+		return render(renderedFields(), () -> processor.process(model()));
+	}
+	
+	/**
+	 * Render only the fields whose value or feedback has changed since they were last
+	 * rendered, for example to show errors after a failed {@link #receive(Consumer)}.
+	 * Each patch replaces a field's column, or its group for fields that fill a row. Fields 
+	 * rendered by a section's renderer cannot be patched individually, so are not included.
+	 * <p>
+	 * Only fields that may have changed are looked at, so the cost is proportional to the 
+	 * size of the change rather than the size of the form. That is, fields whose value was 
+	 * changed by a receive, fields whose errors were added or cleared, and every field that 
+	 * depends on one of those. Values changed in any other way are not noticed.
+	 * <p>
+	 * Requires {@link AbstractFormBuilder#trackChanges()}.
+	 * 
+	 * @param processor processor
+	 * @return patches
+	 */
+	public List<Patch> patch(TemplateProcessor processor) {
+		if(!trackChanges) {
+			throw new IllegalStateException("Change tracking is not enabled for this form.");
+		}
+		var patches = new ArrayList<Patch>();
+		renderVisibility = null;
+		var event = FormEvents.render();
+		var started = started();
+		Throwable error = null;
+		try {
+			var candidates = new LinkedHashSet<Field<T, ?>>(dirty);
+			for(var field : dirty) {
+				candidates.addAll(dependencies.dependents(field));
+			}
+			dirty.clear();
+			
+			rendered = new HashMap<>();
+			for(var field : candidates) {
+				/* Never rendered, so not in the page to be patched */
+				if(!renderStates.containsKey(field) || isRenderedBySection(fieldSections.get(field))) {
+					continue;
+				}
+				var html = processor.process(fieldModel(field));
+				var state = renderState(field);
+				if(!state.equals(renderStates.get(field))) {
+					patches.add(new Patch(placements.get(field).id(), html));
+					renderStates.put(field, state);
+				}
+			}
+			return patches;
+		}
+		catch(RuntimeException | Error e) {
+			error = e;
+			throw e;
+		}
+		finally {
+			rendered = null;
+			record(Phase.TEMPLATE, null, started);
+			event.complete(this, patches.size(), error);
+		}
+	}
+	
+	/**
+	 * Render a single field as a fragment, with the same IDs and CSS classes as when the
+	 * whole form is rendered, for example to replace just that field in a page. Only
+	 * this field's suppliers are called.
+	 * 
+	 * @param processor processor
+	 * @param name field name
+	 * @return HTML
+	 */
+	public String renderField(TemplateProcessor processor, String name) {
+		var field = requireField(name);
+		return render(List.of(field), () -> processor.process(fieldModel(field)));
+	}
+	
+	/**
+	 * Render the rows of a single section as a fragment, with the same IDs and CSS classes
+	 * as when the whole form is rendered. Only the suppliers of fields in this section
+	 * are called.
+	 * 
+	 * @param processor processor
+	 * @param id section ID
+	 * @return HTML
+	 */
+	public String renderSection(TemplateProcessor processor, String id) {
+		var section = section(id);
+		return render(section.fields(), () -> sectionModel(section).stream().
+				map(processor::process).
+				collect(Collectors.joining()));
+	}
+	
+	/**
+	 * Get the model for a single field, as it would be in {@link #model()}. This is
+	 * the field's column, or its group for fields that fill a row.
+	 * 
+	 * @param name field name
+	 * @return model
+	 */
+	public TemplateModel fieldModel(String name) {
+		renderVisibility = null;
+		return fieldModel(requireField(name));
+	}
+	
+	private TemplateModel fieldModel(Field<T, ?> field) {
+		var started = started();
+		var section = fieldSections.get(field);
+		if(isRenderedBySection(section)) {
+			throw new IllegalStateException(MessageFormat.format("Field ''{0}'' is rendered by the renderer of section ''{1}'', so cannot be rendered alone.", field.resolveName(), section.id()));
+		}
+		var placement = placements.get(field);
+		var model = placement.fills() 
+				? buildGroup(placement.row(), placement.column(), field, false) 
+				: buildColumn(placement.row(), placement.column(), field);
+		record(Phase.MODEL, field, started);
+		return model;
+	}
+	
+	/**
+	 * Get the models for the rows of a single section, as they would be in {@link #model()}.
+	 * 
+	 * @param id section ID
+	 * @return row models
+	 */
+	public List<TemplateModel> sectionModel(String id) {
+		renderVisibility = null;
+		return sectionModel(section(id));
+	}
+	
+	private List<TemplateModel> sectionModel(FormSection<T> section) {
+		var started = started();
+		var rows = buildRows(null, section, isRenderedBySection(section));
+		record(Phase.MODEL, null, started);
+		return rows;
+	}
+	
+	private boolean isRenderedBySection(FormSection<T> section) {
+		/* The first section is always laid out in rows, see model() */
+		return section.renderer() != null && sections.indexOf(section) > 0;
+	}
+	
+	private FormSection<T> section(String id) {
+		return sections.stream().
+				filter(sec -> Objects.equals(id, sec.id())).
+				findFirst().
+				orElseThrow(() -> new IllegalArgumentException(MessageFormat.format("No section ''{0}'' in form.", id)));
+	}
+	
+	private String render(Collection<Field<T, ?>> fields, Supplier<String> renderer) {
+		renderVisibility = null;
+		var event = FormEvents.render();
+		var started = started();
+		Throwable error = null;
+		try {
+			if(trackChanges) {
+				rendered = new HashMap<>();
+			}
+			var html = renderer.get();
+			if(trackChanges) {
+				fields.forEach(f -> renderStates.put(f, renderState(f)));
+				dirty.clear();
+			}
+			return html;
+		}
+		catch(RuntimeException | Error e) {
+			error = e;
+			throw e;
+		}
+		finally {
+			rendered = null;
+			record(Phase.TEMPLATE, null, started);
+			event.complete(this, fields.size(), error);
+		}
+	}
+	
+	private Collection<Field<T, ?>> renderedFields() {
+		if(lazySections.isEmpty() || sections.size() < 2) {
+			return fields.values();
+		}
+		var l = new ArrayList<Field<T, ?>>(sections.get(0).fields());
+		l.addAll(sections.get(activeSection).fields());
+		return l;
+	}
+	
+	/**
+	 * The state of a field as it was just rendered. Values are captured as they are supplied 
+	 * to the template, so no supplier is called again here.
+	 */
+	private RenderState renderState(Field<T, ?> field) {
+		var value = rendered.get(field);
+		var result = errors.get(field);
+		return new RenderState(value == null ? null : Field.toValString(value), result == null ? null : feedbackText(field, result.firstError()), hiddenByDependency(field));
+	}
+	
+	private Field<T, ?> requireField(String name) {
+		return Optional.ofNullable(fields.get(name)).orElseThrow(() -> new IllegalArgumentException(MessageFormat.format("No field ''{0}'' in form.", name)));
+	}
+	
 	public TemplateModel model() {
+		var started = started();
+		renderVisibility = null;
 		var formTemplate = templates.get(Template.FORM);
 		var model = ofResource(formTemplate.base(), formTemplate.resource());
 		
 		model.variable("id", resolveId().orElse("form")); 
+		dependencyIndex.ifPresent(json -> model.variable("dependencies", json));
 		if(sections.size() > 1) {
-			model.list("sections", (content) -> 
-				sections.subList(1, sections.size()).stream().map(sec -> 
-					TemplateModel.ofContent(content).
-						condition("active", sections.indexOf(sec) == 1).
-						variable("index", sections.indexOf(sec)).
+			model.variable("sections.active", sections.get(activeSection).id());
+			lazySections.ifPresent(url -> model.variable("sections.attrs", attrsToString(Map.of("data-section-url", url))));
+			model.list("sections", (content) -> {
+				var l = new ArrayList<TemplateModel>(sections.size() - 1);
+				for(int i = 1; i < sections.size(); i++) {
+					var sec = sections.get(i);
+					var lazy = lazySections.isPresent() && i != activeSection;
+					l.add(TemplateModel.ofContent(content).
+						condition("active", i == activeSection).
+						condition("lazy", lazy).
+						variable("index", i).
 						variable("id", sec.id()).
 						variable("label", sec.label().resolveString()).
-						list("rows", rowcontent -> buildRows(rowcontent, sec.fields(), sec))
-					).
-					toList());
-			model.list("rows", content -> buildRows(content, sections.get(0).fields(), null));
+						list("rows", rowcontent -> lazy ? Collections.emptyList() : buildRows(rowcontent, sec, true)));
+				}
+				return l;
+			});
+			model.list("rows", content -> buildRows(content, sections.get(0), false));
 		}
 		else {
-			model.list("rows", content -> buildRows(content, fields.values(), null));
+			model.list("rows", content -> buildRows(content, sections.get(0), false));
 		}
+		record(Phase.MODEL, null, started);
 		return model;
 	}
 	
@@ -215,11 +640,93 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		return receive(receiver, true);
 	}
 	
+	/**
+	 * Validate a single field, using the current values of any fields it depends on.
+	 * See {@link #validateField(String, String, Map)}.
+	 * 
+	 * @param name field name
+	 * @param value submitted value
+	 * @return feedback
+	 */
+	public FieldFeedback<T> validateField(String name, String value) {
+		return validateField(name, value, Collections.emptyMap());
+	}
+	
+	/**
+	 * Validate a single field, for example for live validation while the user is still
+	 * typing. Only this field is converted, checked and validated, nothing is updated, and
+	 * the errors of the form are left as they are. A value that cannot be converted is
+	 * invalid rather than an exception.
+	 * <p>
+	 * Fields this field depends on are taken from the snapshot of other submitted values,
+	 * or their current values when not in the snapshot. 
+	 * 
+	 * @param name field name
+	 * @param value submitted value
+	 * @param snapshot other submitted values
+	 * @return feedback
+	 */
+	public FieldFeedback<T> validateField(String name, String value, Map<String, String> snapshot) {
+		var field = requireField(name);
+		
+		if(!field.depends().isEmpty()) {
+			var visibility = dependencies.evaluate(f -> {
+				var raw = snapshot.get(f.resolveName());
+				if(raw == null) {
+					return supply(f);
+				}
+				try {
+					return convert(f, raw);
+				}
+				catch(IllegalArgumentException | DateTimeException e) {
+					return null;
+				}
+			});
+			if(!visible(visibility, field)) {
+				return new FieldFeedback<>(field, FieldFeedback.State.HIDDEN, Optional.empty(), Collections.emptyList());
+			}
+		}
+		
+		var results = new HashMap<Field<T, ?>, ValidationResult<T>>(1);
+		if(field.required() && isEmpty(value)) {
+			addError(results, field, new ValidationException(field, Text.ofI18n("field.required", defaultBundle, resolveText(field))));
+		}
+		else {
+			try {
+				var obj = convert(field, value);
+				if(checkConstraints(results, field, obj) || !field.failFast()) {
+					validate(results, field, obj);
+				}
+			}
+			catch(IllegalArgumentException | DateTimeException e) {
+				addError(results, field, new ValidationException(field));
+			}
+		}
+		
+		var result = results.get(field);
+		if(result == null) {
+			return new FieldFeedback<>(field, FieldFeedback.State.VALID, field.validFeedback().or(() -> validFeedback).map(Text::resolveString), Collections.emptyList());
+		}
+		else {
+			return new FieldFeedback<>(field, FieldFeedback.State.INVALID, Optional.of(feedbackText(field, result.firstError())), Collections.unmodifiableList(result.errors()));
+		}
+	}
+	
 	public void reset() {
+		if(trackChanges) {
+			dirty.addAll(errors.keySet());
+		}
 		errors.clear();
 	}
 	
 	public void addError(Field<T, ?> field, ValidationException ve) {
+		if(trackChanges) {
+			dirty.add(field);
+		}
+		addError(errors, field, ve);
+	}
+	
+	private static <T> void addError(Map<Field<T, ?>, ValidationResult<T>> errors, Field<T, ?> field, ValidationException ve) {
 		var l = errors.get(field);
 		if(l == null) {
 			l = new ValidationResult<>(field, new ArrayList<>());
@@ -229,17 +736,86 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 	}
 	
 	public Results<T> receive(Consumer<FormDataReceiver> receiver, boolean validate) {
-
+		return receive(receiver, validate, false, Optional.empty());
+	}
+	
+	/**
+	 * Receive and validate only the fields that changed, as submitted by <code>ttbs.js</code>
+	 * for a form with a <code>data-partial-submit</code> attribute. Fields that were not 
+	 * submitted are unchanged, so are not converted, compared or validated, and fields that
+	 * depend on them are evaluated against their current values. As with {@link #receive(Consumer)},
+	 * a required field that was not submitted is only an error if its current value is empty. 
+	 * <p>
+	 * The receiver should pass the {@link FormDataReceiver#MANIFEST} of changed fields, so
+	 * changes that submit nothing, such as unchecking a checkbox, are received.
+	 * 
+	 * @param receiver receiver
+	 * @return results
+	 */
+	public Results<T> receivePartial(Consumer<FormDataReceiver> receiver) {
+		return receive(receiver, true, true, Optional.empty());
+	}
+	
+	/**
+	 * Receive and validate submitted form data, starting all {@link AsyncValidator}s at
+	 * once rather than waiting for each in turn. They are run on the form's executor, or
+	 * {@link DefaultFramework#executor()}. Any not complete by the deadline fail their
+	 * field, and as with any other failure, no updates are committed.
+	 * <p>
+	 * Synchronous validators still run first, on the calling thread.
+	 * 
+	 * @param receiver receiver
+	 * @param deadline how long to wait for all asynchronous validators
+	 * @return results
+	 */
+	public Results<T> receiveAsync(Consumer<FormDataReceiver> receiver, Duration deadline) {
+		return receive(receiver, true, false, Optional.of(deadline));
+	}
+	
+	private Results<T> receive(Consumer<FormDataReceiver> receiver, boolean validate, boolean partial, Optional<Duration> deadline) {
+		var event = FormEvents.receive();
+		var started = started();
+		var processed = new ArrayList<Field<T, ?>>();
+		var outcome = FormEvents.OK;
+		try {
+			var results = doReceive(receiver, validate, partial, deadline, processed);
+			if(validate) {
+				outcome = results.ok() ? FormEvents.VALID : FormEvents.INVALID;
+			}
+			return results;
+		}
+		catch(RuntimeException | Error e) {
+			outcome = FormEvents.outcome(e);
+			throw e;
+		}
+		finally {
+			record(Phase.RECEIVE, null, started);
+			event.complete(this, processed.size(), outcome);
+		}
+	}
+	
+	private Results<T> doReceive(Consumer<FormDataReceiver> receiver, boolean validate, boolean partial, Optional<Duration> deadline, ArrayList<Field<T, ?>> processed) {
 		if(validate) {
-			this.errors.clear();;
+			if(trackChanges) {
+				dirty.addAll(errors.keySet());
+			}
+			this.errors.clear();
 		}
 		
-		var processed = new ArrayList<Field<T, ?>>();
+		var pending = new ArrayList<PendingValidation<T>>();
 		var commit = new ArrayList<Runnable>();
 		var values = new HashMap<Field<T, ?>, Object>();
+		var received = new HashMap<Field<T, ?>, Object>();
+		var submitted = new HashSet<Field<T, ?>>();
+		var manifest = new LinkedHashSet<Field<T, ?>>();
+		var changes = new HashMap<Field<T, ?>, Change<T, ?>>();
 		var submitButton = new StringBuilder();
 		
-		receiver.accept(new FormDataReceiver() {
+		/* When fields depend on others, submissions are held until all are received, then
+		 * processed in dependency order so hidden fields can be skipped entirely */
+		var deferred = !dependencies.empty() ? new ArrayList<Submission<T>>() : null;
+		
+		var formReceiver = new FormDataReceiver() {
 				
 			@Override
 			public Field<T, ?> field(String fieldName) {
@@ -253,48 +829,166 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 			@SuppressWarnings("unchecked")
 			@Override
 			public void file(Field<?, ?> field, FormFile file) {
-				doUpdate(validate, processed, commit, values, (Field<T, Object>)field, file);
+				submitted.add((Field<T, ?>)field);
+				if(deferred == null) {
+					doUpdate(validate, processed, commit, values, (Field<T, Object>)field, file);
+				}
+				else {
+					deferred.add(new Submission<>((Field<T, ?>)field, file, true));
+				}
 			}
 
 			@SuppressWarnings("unchecked")
 			@Override
 			public void field(Field<?, ?> field, String val) {
-				doUpdate(validate, processed, commit, values, (Field<T, Object>) field, Field.valueOf(framework, field, val));
+				submitted.add((Field<T, ?>)field);
+				if(deferred == null) {
+					convert((Field<T, ?>)field, val);
+				}
+				else {
+					deferred.add(new Submission<>((Field<T, ?>)field, val, false));
+				}
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public void delta(Field<?, ?> field, String ops) {
+				var f = (Field<T, ?>)field;
+				if(!f.listDelta()) {
+					throw new IllegalArgumentException(MessageFormat.format("Field ''{0}'' does not accept list changes.", f.resolveName()));
+				}
+				submitted.add(f);
+				ListDelta<Object> delta;
+				try {
+					delta = parseDelta(f, ops);
+				}
+				catch(IllegalArgumentException | DateTimeException e) {
+					if(!validate) {
+						throw e;
+					}
+					/* Malformed changes are the client's fault, so the field is in error */
+					addError(f, new ValidationException(f));
+					processed.add(f);
+					return;
+				}
+				if(deferred == null) {
+					applyDelta(f, delta);
+				}
+				else {
+					deferred.add(new Submission<>(f, delta, false));
+				}
+			}
+
+			@Override
+			public void manifest(Collection<String> fieldNames) {
+				for(var name : fieldNames) {
+					var field = fields.get(name);
+					if(field == null) {
+						onUnknownField.orElseThrow(() -> new IllegalArgumentException(MessageFormat.format("No field ''{0}'' in form.", name))).accept(Form.this, name);
+					}
+					else {
+						manifest.add(field);
+					}
+				}
+			}
+
+			@SuppressWarnings("unchecked")
+			private void convert(Field<T, ?> field, String val) {
+				var obj = Form.this.convert(field, val);
+				received.put(field, obj);
+				doUpdate(validate, processed, commit, values, (Field<T, Object>) field, obj);
+			}
+			
+			@SuppressWarnings("unchecked")
+			private void submit(Submission<T> submission) {
+				if(submission.value() instanceof ListDelta<?> delta) {
+					applyDelta(submission.field(), (ListDelta<Object>)delta);
+				}
+				else if(submission.file()) {
+					received.put(submission.field(), submission.value());
+					doUpdate(validate, processed, commit, values, (Field<T, Object>)submission.field(), submission.value());
+				}
+				else {
+					convert(submission.field(), (String)submission.value());
+				}
 			}
 
 			@SuppressWarnings("unchecked")
 			private void doUpdate(boolean validate, ArrayList<Field<T, ?>> processed, ArrayList<Runnable> commit,
 					HashMap<Field<T, ?>, Object> values, Field<T, Object> f, Object obj) {
-				var was = f.value().map(Supplier::get).orElse(null);
+				doUpdate(validate, processed, commit, values, f, obj, null);
+			}
+
+			/* When there is a delta, it is passed to Field.listUpdate() instead of the whole list */
+			private void doUpdate(boolean validate, ArrayList<Field<T, ?>> processed, ArrayList<Runnable> commit,
+					HashMap<Field<T, ?>, Object> values, Field<T, Object> f, Object obj, ListDelta<Object> delta) {
+				var was = supply(f);
 				
 				if(!Objects.equals(obj, was)) {
 				
-					if(validate) {
+					if(validate && (checkConstraints(errors, f, obj) || !f.failFast())) {
 						resolveValidators(f).ifPresent(vs -> {
 							for(var v : vs) {
-								try {
-									v.validate((Field<Object, ?>) f, obj);
+								if(deadline.isPresent() && v instanceof AsyncValidator<Object> av) {
+									pending.add(startValidator(f, av, obj));
 								}
-								catch(ValidationException ve) {
-									addError(f, ve);
+								else if(!runValidator(errors, f, v, obj) && f.failFast()) {
+									break;
 								}
 							}
 						});
 					}
 						
 					values.put(f, obj);
+					changes.put(f, new Change<>(f, was, obj));
 					
 					if(validate) {
-						commit.add(() -> update(f, obj, was));
+						commit.add(delta == null ? () -> update(f, obj, was) : () -> listUpdate(f, delta));
 					}
-					else {
+					else if(delta == null) {
 						update(f, obj, was);
 					}
+					else {
+						listUpdate(f, delta);
+					}
 				}
 				
 				processed.add(f);
 			}
 
+			@SuppressWarnings("unchecked")
+			private void applyDelta(Field<T, ?> f, ListDelta<Object> delta) {
+				if(f.listUpdate().isPresent() && f.value().isEmpty()) {
+					/* There is no whole list, so only what is added can be checked. Such a field
+					 * may not be required, have validators or be depended on, see Field */
+					if(!delta.empty() && (!validate || checkConstraints(errors, f, delta.added()))) {
+						if(validate) {
+							commit.add(() -> listUpdate(f, delta));
+						}
+						else {
+							listUpdate(f, delta);
+						}
+					}
+					processed.add(f);
+				}
+				else {
+					var list = delta.apply((Collection<Object>)supply(f));
+					received.put(f, list);
+					/* The browser cannot enforce this, as the list is changed by operations */
+					if(validate && f.required() && list.isEmpty()) {
+						addError(f, new ValidationException(f, Text.ofI18n("field.required", defaultBundle, resolveText(f))));
+					}
+					doUpdate(validate, processed, commit, values, (Field<T, Object>)f, list, f.listUpdate().isPresent() ? delta : null);
+				}
+			}
+
+			private void listUpdate(Field<T, ?> f, ListDelta<Object> delta) {
+				if(f.readOnly().orElse(false)) {
+					throw new IllegalStateException(MessageFormat.format("List has changed, but ''{0}'' is read only.", f.resolveName()));
+				}
+				f.listUpdate().get().accept(delta);
+			}
+
 			private void update(Field<T, Object> f, Object obj, Object was) {
 				f.update().ifPresentOrElse(u -> {
 					if(f.readOnly().orElse(false)) {
@@ -305,22 +999,52 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 					// Must be retrieved by Result.value()
 				});
 			}
-		});
+		};
+		
+		receiver.accept(formReceiver);
+		
+		if(partial) {
+			for(var field : manifest) {
+				if(!submitted.contains(field) && field.resolveInputType() != InputType.FILE) {
+					formReceiver.field(field, "");
+				}
+			}
+		}
+		
+		/* When partial, fields not submitted keep their current value */
+		var visibility = dependencies.evaluate(partial 
+				? f -> submitted.contains(f) ? received.get(f) : supply(f) 
+				: received::get);
+		if(deferred != null) {
+			deferred.sort(Comparator.comparingInt(s -> dependencies.rank(s.field())));
+			for(var submission : deferred) {
+				var field = submission.field();
+				if(field.depends().isEmpty() || visible(visibility, field)) {
+					formReceiver.submit(submission);
+				}
+			}
+		}
+						
+		if(!pending.isEmpty()) {
+			awaitValidators(pending, deadline.get());
+		}
 						
 		if(validate) {
 			fields.values().forEach(field -> {
+				var started = started();
 				var maybeRequired = !processed.contains(field) && field.required();
 				
 				if(maybeRequired && !field.depends().isEmpty()) {
 					/* Not posted, but required. See if it is actually required given 
 					 * the state of the other fields it depends on
 					 */
-					maybeRequired = isActuallyRequired(field, values);
+					maybeRequired = visible(visibility, field);
 				}
 				
-				if(maybeRequired && isEmpty(field.value().map(Supplier::get).orElse(null))) {
+				if(maybeRequired && isEmpty(supply(field))) {
 					addError(field, new ValidationException(field, Text.ofI18n("field.required", defaultBundle, resolveText(field))));
 				}
+				record(Phase.REQUIRED, field, started);
 			});
 		}
 		
@@ -328,8 +1052,22 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 			commit.forEach(Runnable::run);
 		}
 		
+		if(trackChanges) {
+			dirty.addAll(changes.keySet());
+			dirty.addAll(errors.keySet());
+		}
+		
+		var changeSet = changes.isEmpty() 
+				? Collections.<Change<T, ?>>emptyList() 
+				: fields.values().stream().<Change<T, ?>>map(changes::get).filter(Objects::nonNull).toList();
+		
 		return new Results<>() {
 
+			@Override
+			public List<Change<T, ?>> changes() {
+				return changeSet;
+			}
+
 			@Override
 			public List<ValidationResult<T>> results() {
 				return Collections.unmodifiableList(new ArrayList<>(errors.values()));
@@ -346,6 +1084,12 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 				return Objects.requireNonNull((F)values.get(field),() -> MessageFormat.format("No such value for ''{0}''.", field));
 			}
 
+			@SuppressWarnings("unchecked")
+			@Override
+			public <F> Optional<F> optionalValue(String field) {
+				return Optional.ofNullable(fields.get(field)).map(f -> (F)values.get(f));
+			}
+
 			@Override
 			public Optional<String> submitButton() {
 				return submitButton.length() == 0 ? Optional.empty() : Optional.of(submitButton.toString());
@@ -354,21 +1098,227 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		};
 	}
 
-	private boolean isActuallyRequired(Field<T, ?> field, HashMap<Field<T, ?>, Object> values) {
-		for(var depend : field.depends()) {
-			var otherField = fields.get(depend.name());
-			if(otherField != null) {
-				var otherValue = values.get(otherField);
-				var match = Arrays.asList(depend.values()).contains(otherValue);
-				if(depend.negate())
-					match = !match;
-				if(match) {
-					return true;
+	/**
+	 * Where a field is laid out, and the ID of its column or group element.
+	 */
+	private record Placement<T>(Field<T, ?> field, int row, int column, boolean fills, String id) {
+	}
+
+	private record RenderState(String value, String feedback, boolean hidden) {
+	}
+
+	private record Submission<T>(Field<T, ?> field, Object value, boolean file) {
+	}
+
+	private record PendingValidation<T>(Field<T, ?> field, CompletableFuture<Optional<ValidationException>> result) {
+	}
+
+	@SuppressWarnings("unchecked")
+	private <F> PendingValidation<T> startValidator(Field<T, F> field, AsyncValidator<F> validator, Object value) {
+		var event = FormEvents.validate();
+		var started = started();
+		CompletableFuture<Optional<ValidationException>> future;
+		try {
+			future = validator.validateAsync((Field<F, ?>)field, (F)value, executor.orElseGet(DefaultFramework::executor)).toCompletableFuture();
+		}
+		catch(RuntimeException e) {
+			future = CompletableFuture.failedFuture(e);
+		}
+		
+		/* Completes on whatever thread the validator completes on */
+		future.whenComplete((res, err) -> {
+			var outcome = err == null 
+					? ( res.isPresent() ? FormEvents.INVALID : FormEvents.VALID ) 
+					: FormEvents.outcome(unwrap(err));
+			if(metrics.isPresent()) {
+				metrics.get().validated(formId(), field.resolveName(), validator, FormEvents.VALID.equals(outcome), System.nanoTime() - started);
+			}
+			event.complete(this, field, validator.getClass(), outcome);
+		});
+		return new PendingValidation<>(field, future);
+	}
+	
+	private void awaitValidators(List<PendingValidation<T>> pending, Duration deadline) {
+		try {
+			CompletableFuture.allOf(pending.stream().map(PendingValidation::result).toArray(CompletableFuture[]::new)).get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+		catch(ExecutionException | TimeoutException e) {
+			// Each result is examined below
+		}
+		
+		try {
+			for(var p : pending) {
+				var future = p.result();
+				if(!future.isDone()) {
+					addError(p.field(), new ValidationException(p.field(), Text.ofI18n("field.timeout", defaultBundle, resolveText(p.field()))));
+				}
+				else if(future.isCompletedExceptionally()) {
+					var err = unwrap(future.handle((res, e) -> e).join());
+					if(err instanceof ValidationException ve) {
+						addError(p.field(), ve);
+					}
+					else if(err instanceof RuntimeException re) {
+						throw re;
+					}
+					else if(err instanceof Error e) {
+						throw e;
+					}
+					else {
+						throw new IllegalStateException(MessageFormat.format("Validation of ''{0}'' failed.", p.field().resolveName()), err);
+					}
+				}
+				else {
+					future.join().ifPresent(ve -> addError(p.field(), ve));
+				}
+			}
+		}
+		finally {
+			/* Cannot interrupt the validator itself, but stops any dependent stages */
+			pending.forEach(p -> p.result().cancel(true));
+		}
+	}
+	
+	private static Throwable unwrap(Throwable err) {
+		return err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <F> boolean runValidator(Map<Field<T, ?>, ValidationResult<T>> errors, Field<T, F> field, Validator<F> validator, Object value) {
+		var event = FormEvents.validate();
+		var started = started();
+		var outcome = FormEvents.INVALID;
+		try {
+			if(validator instanceof ResultValidator<F> rv) {
+				/* No exception thrown, so no stack to unwind */
+				var res = rv.test((Field<F, ?>)field, (F)value);
+				if(res.isPresent()) {
+					addError(errors, field, res.get());
+				}
+				else {
+					outcome = FormEvents.VALID;
 				}
-				
 			}
+			else {
+				try {
+					validator.validate((Field<F, ?>)field, (F)value);
+					outcome = FormEvents.VALID;
+				}
+				catch(ValidationException ve) {
+					addError(errors, field, ve);
+				}
+			}
+		}
+		catch(RuntimeException | Error e) {
+			outcome = FormEvents.outcome(e);
+			throw e;
+		}
+		finally {
+			if(metrics.isPresent()) {
+				metrics.get().validated(formId(), field.resolveName(), validator, FormEvents.VALID.equals(outcome), System.nanoTime() - started);
+			}
+			event.complete(this, field, validator.getClass(), outcome);
+		}
+		return FormEvents.VALID.equals(outcome);
+	}
+
+	private boolean checkConstraints(Map<Field<T, ?>, ValidationResult<T>> errors, Field<T, ?> field, Object value) {
+		var constraints = field.constraints();
+		if(constraints.empty()) {
+			return true;
+		}
+		
+		var event = FormEvents.validate();
+		var started = started();
+		var violation = constraints.check(value);
+		violation.ifPresent(v -> addError(errors, field, new ValidationException(field, Text.ofI18n(v.key(), defaultBundle, resolveText(field), constraints.limit(v)))));
+		record(Phase.VALIDATE, field, started);
+		event.complete(this, field, Constraints.class, violation.isEmpty() ? FormEvents.VALID : FormEvents.INVALID);
+		return violation.isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <F> void validate(Map<Field<T, ?>, ValidationResult<T>> errors, Field<T, F> field, Object value) {
+		resolveValidators(field).ifPresent(vs -> {
+			for(var v : vs) {
+				if(!runValidator(errors, field, v, value) && field.failFast()) {
+					break;
+				}
+			}
+		});
+	}
+	
+	private Object convert(Field<T, ?> field, String val) {
+		var event = FormEvents.convert();
+		var started = started();
+		Throwable error = null;
+		try {
+			return Field.valueOf(framework, field, val);
+		}
+		catch(RuntimeException | Error e) {
+			error = e;
+			throw e;
+		}
+		finally {
+			record(Phase.CONVERT, field, started);
+			event.complete(this, field, error);
+		}
+	}
+	
+	private ListDelta<Object> parseDelta(Field<T, ?> field, String ops) {
+		if(!List.class.isAssignableFrom(field.resolveType())) {
+			throw new IllegalArgumentException(MessageFormat.format("Field ''{0}'' is not a list.", field.resolveName()));
+		}
+		var event = FormEvents.convert();
+		var started = started();
+		Throwable error = null;
+		try {
+			return ListDelta.parse(ops, item -> Field.itemValueOf(framework, field, item));
+		}
+		catch(RuntimeException | Error e) {
+			error = e;
+			throw e;
+		}
+		finally {
+			record(Phase.CONVERT, field, started);
+			event.complete(this, field, error);
+		}
+	}
+	
+	private String feedbackText(Field<T, ?> field, ValidationException ve) {
+		return ve.text().orElse(Text.ofI18n("field.error", defaultBundle, resolveText(field))).resolveString();
+	}
+
+	/**
+	 * Whether a field is rendered hidden because its dependencies do not match the current
+	 * values. Only groups carry <code>data-depends</code>, so only fields that fill a row
+	 * can be hidden. All fields in the same render share one evaluation, so each value
+	 * depended on is supplied at most once.
+	 */
+	private boolean hiddenByDependency(Field<T, ?> field) {
+		if(field.depends().isEmpty()) {
+			return false;
+		}
+		var placement = placements.get(field);
+		if(placement == null || !placement.fills()) {
+			return false;
+		}
+		if(renderVisibility == null) {
+			renderVisibility = dependencies.evaluate(this::supply);
+		}
+		return !visible(renderVisibility, field);
+	}
+
+	private boolean visible(DependencyGraph<T>.Evaluation visibility, Field<T, ?> field) {
+		var started = started();
+		try {
+			return visibility.visible(field);
+		}
+		finally {
+			record(Phase.DEPENDENCY, field, started);
 		}
-		return false;
 	}
 
 	private <F> Optional<List<Validator<F>>> resolveValidators(Field<T, F> field) {
@@ -397,48 +1347,73 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		}
 	}
 	
-	private List<TemplateModel> buildRows(String content, Collection<Field<T, ?>> fields, FormSection<T> sec) {
-		if(sec != null && sec.renderer != null) {
-			return Arrays.asList(sec.renderer.apply(sec));
+	private List<TemplateModel> buildRows(String content, FormSection<T> section, boolean useRenderer) {
+		if(useRenderer && section.renderer != null) {
+			return Arrays.asList(section.renderer.apply(section));
 		}
 		
 		var rows = new ArrayList<TemplateModel>();
 		var cols = new ArrayList<TemplateModel>();
+		var colsRow = 0;
+		
+		for(var placement : layouts.get(section)) {
+			if(!cols.isEmpty() && ( placement.fills() || placement.row() != colsRow )) {
+				rows.add(buildRow(colsRow, cols));
+			}
+			if(placement.fills()) {
+				rows.add(buildGroup(placement.row(), placement.column(), placement.field(), false));
+			}
+			else {
+				colsRow = placement.row();
+				cols.add(buildColumn(placement.row(), placement.column(), placement.field()));
+			}
+		}
+		
+		if(!cols.isEmpty()) {
+			rows.add(buildRow(colsRow, cols));
+		}
+		
+		return rows;
+	}
+	
+	/* Lays out fields in rows of at most 12 spans, with fields that fill a row on a row of their own */
+	private List<Placement<T>> layout(Collection<Field<T, ?>> fields) {
+		var layout = new ArrayList<Placement<T>>(fields.size());
+		var prefix = resolveId().orElse("form");
 		var spans = 0;
 		var rowIndex = 0;
-		var colIndex = 0;		
+		var colIndex = 0;
+		var colCount = 0;
 		
 		for(var field : fields) {
 			if(field.fills()) {
-				if(!cols.isEmpty()) {
-					rows.add(buildRow(rowIndex, cols));
+				if(colCount > 0) {
 					rowIndex++;
 					colIndex = 0;
+					colCount = 0;
 				}
-				
-				rows.add(buildGroup(rowIndex, colIndex, field, false));
-					rowIndex++;
+				var id = prefix + "-group-" + field.resolveId().orElse(rowIndex + "-" + colIndex);
+				layout.add(new Placement<>(field, rowIndex, colIndex, true, id));
+				rowIndex++;
 				spans = 0;
 			}
 			else {
 				var span = field.spans();
 				if(span + spans > 12) {
-					rows.add(buildRow(rowIndex, cols));
 					rowIndex++;
 					colIndex = 0;
+					colCount = 0;
 					spans = 0;
 				}
-				cols.add(buildColumn(rowIndex, colIndex, field));
+				var id = prefix + "-column-" + field.resolveId().orElse(rowIndex + "-" + colIndex);
+				layout.add(new Placement<>(field, rowIndex, colIndex, false, id));
 				colIndex++;
+				colCount++;
 				spans += span;
 			}
 		}
 		
-		if(!cols.isEmpty()) {
-			rows.add(buildRow(rowIndex, cols));
-		}
-		
-		return rows;
+		return Collections.unmodifiableList(layout);
 	}
 	
 	private TemplateModel buildRow(int rowIndex, List<TemplateModel> columns) {
@@ -527,33 +1502,14 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		var id =  resolveId().orElse("form") + "-group-" + ( field.resolveId().orElse(String.valueOf(rowIndex + "-" + colIndex)) );
 		var templ = ofResource(groupTemplate.base(), groupTemplate.resource()).
 				variable("id", id).
-				variable("groupCssClass", () -> resolveGroupCssClass(field)).
+				variable("groupCssClass", () -> hiddenByDependency(field) ? resolveGroupCssClass(field) + " d-none" : resolveGroupCssClass(field)).
 				include("field", () -> buildField(rowIndex, colIndex, field, selected));
 		
-		var deps = field.depends();
-		if(!deps.isEmpty()) {
-			var depIds = String.join(",", deps.stream().map(FieldDependency::name).toList());
-			var bldr = new StringBuilder();
-			for(var dep : deps) {
-				if(bldr.length() > 0)
-					bldr.append(',');
-				if(dep.negate())
-					bldr.append('!');
-				bldr.append(String.join(":", Arrays.asList(dep.values()).stream().map(obj -> Field.toString(field, obj)).toList()));
-			}
-			templ.variable("groupAttrs", attrsToString(
-					Map.of(
-						"data-depends", depIds,
-						"data-depends-value", bldr.toString()
-					)
-				)
-			);
-		}
-		
 		return templ;
 	}
 	
 	private TemplateModel buildField(int rowIndex, int colIndex, Field<T, ?> field, boolean selected) {
+		var started = started();
 		var fieldTemplate = templates.get(Template.FIELD);
 		
 		var resolvedId = field.resolveId().orElse(String.valueOf(rowIndex + "-" + colIndex));
@@ -570,18 +1526,21 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		
 		mdl.variable("id", id);
 		mdl.variable("input.id", inputId);
-		mdl.variable("input.value", () -> Field.toString(field));
+		mdl.variable("input.value", () -> Field.toString(field, supply(field)));
 		mdl.condition("input.group", field.inputGroupBefore().isPresent() || field.inputGroupAfter().isPresent());
 		
 		buildCommonFieldAndInput(field, resolvedId, type, mdl);
 		
 		if(hasOptions && type.optionsAsFields()) {
-			var opts = field.options().get().get();
+			var opts = supplyOptions(field);
 			mdl.variable("options.class", String.join(" ", optionsCssClass));
-			mdl.list("options", (content) -> opts.stream().map(opt -> {
-				return TemplateModel.ofContent(content).
-						include("option", buildGroup(opts.indexOf(opt), 0, opt.asField(field), Field.toString(field).equals(opt.value()))); 
-			}).toList());
+			mdl.list("options", (content) -> {
+				var current = Field.toString(field, supply(field));
+				return opts.stream().map(opt -> {
+					return TemplateModel.ofContent(content).
+							include("option", buildGroup(opts.indexOf(opt), 0, opt.asField(field), current.equals(opt.value()))); 
+				}).toList();
+			});
 		}
 		
 		if(field.feedback().orElse(feedback)) {
@@ -595,7 +1554,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 			else {
 				var firstVe = feedback.firstError();
 				mdl.variable("feedback", "invalid-feedback");
-				mdl.variable("feedback.text", firstVe.text().orElse(Text.ofI18n("field.error", defaultBundle, resolveText(field))).resolveString());			
+				mdl.variable("feedback.text", feedbackText(field, firstVe));
 			}
 		}
 				
@@ -618,6 +1577,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 				}
 			});
 		}
+		record(Phase.MODEL, field, started);
 		return mdl;
 	}
 
@@ -654,20 +1614,32 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 	}
 	
 	private Optional<String> resolveString(String suffix, String id, Optional<Text> textOr, Supplier<String> defaultValue) {
+		if(metrics.isPresent()) {
+			var started = System.nanoTime();
+			try {
+				return doResolveString(suffix, id, textOr, defaultValue);
+			}
+			finally {
+				metrics.get().record(Phase.I18N, formId(), Optional.of(id), System.nanoTime() - started);
+			}
+		}
+		else {
+			return doResolveString(suffix, id, textOr, defaultValue);
+		}
+	}
+	
+	private Optional<String> doResolveString(String suffix, String id, Optional<Text> textOr, Supplier<String> defaultValue) {
 		if(textOr.isPresent()) {
 			var text = textOr.get();
 			return Optional.of(text.resolveString(this.bundle));
 		}
 		else {
-			if(this.bundle.isPresent()) {
-				var bundle = this.bundle.get();
-				
+			if(this.bundleIndex.isPresent()) {
 				/* Generate key from id and suffix */
 				var key = suffix == null || suffix.length() == 0 ? id : id + "." + suffix;
-				try {
-					return Optional.of(bundle.getString(key));
-				}
-				catch(MissingResourceException mre) {
+				var str = bundleIndex.get().string(key);
+				if(str.isPresent()) {
+					return str;
 				}
 			}
 		}
@@ -695,6 +1667,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 	}
 	
 	private TemplateModel buildInput(String fieldId, int rowIndex, int colIndex, String inputId, String resolvedId, Field<T, ?> field, InputType type, boolean hasHelp, boolean hasFeedback, boolean selected) {
+		var started = started();
 		var inputTemplate = templates.get(type);
 		if(inputTemplate == null) {
 			inputTemplate = framework.defaultTemplates().get(Template.INPUT);
@@ -706,7 +1679,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		mdl.variable("id", inputId);
 		mdl.variable("class", String.join(" ", resolveInputClass(field, type)));
 		if(type.value() == Value.CHECKED) {
-			mdl.variable("checked", () -> field.value().map(s -> evalAsBoolean(s.get())).orElse(false));
+			mdl.variable("checked", () -> field.value().isPresent() && evalAsBoolean(supply(field)));
 		}
 		else if(type.value() == Value.CHECKED_VALUE) {
 			mdl.variable("checked", selected);
@@ -716,13 +1689,11 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		
 		mdl.condition(type.tag(), true);
 		mdl.condition("is." + type.name().toLowerCase(), true);
-		mdl.condition("disabled", () -> resolveDisabled(field));
+		mdl.condition("disabled", () -> resolveDisabled(field) || hiddenByDependency(field));
 		mdl.condition("readonly", field::resolveReadOnly);
 		mdl.condition("required", field::required);
 		mdl.condition("multiple", () -> field.multiple().orElseGet(field::resolveMultiple));
 		
-		field.pattern().ifPresent(p -> mdl.variable("pattern", p));
-		
 		buildInputGroups(field, mdl);
 		
 		field.attrs().forEach((k,v) -> {
@@ -731,7 +1702,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		
 		field.options().ifPresent(opts -> {
 			mdl.list("options", (content) ->
-				opts.get().stream().map(opt -> {
+				supplyOptions(field).stream().map(opt -> {
 					return ofContent(content).
 						variable("type", type.attribute()).
 						variable("name", field.resolveName()).
@@ -744,6 +1715,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		});
 		
 		var attrs = new HashMap<>(field.attrs());
+		attrs.putAll(field.constraints().attrs());
 		resolveString("placeholder", resolvedId, field.placeholder(), null).ifPresentOrElse(
 		str -> {
 			attrs.put("placeholder", str); 
@@ -755,6 +1727,14 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		});
 		
 		field.dropzone().ifPresent(dz -> attrs.put("data-dropzone", dz));
+		if(field.listDelta()) {
+			attrs.put("data-list-delta", null);
+		}
+		
+		if(!resolveDisabled(field) && hiddenByDependency(field)) {
+			/* As ttbs.js does, so it knows to enable the input when the group is shown */
+			attrs.put("data-hidden-depends", "true");
+		}
 	
 		if(hasHelp) {
 			if(hasFeedback)
@@ -767,7 +1747,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 		}
 		
 		field.value().ifPresent(sup -> { 
-			var val = Field.toString(framework, field);
+			var val = Field.toString(framework, field, supply(field));
 			mdl.variable("value", val);
 			if((type.value() == Value.ATTRIBUTE || type.value() == Value.CHECKED_VALUE) && type.inputTag()) {
 				attrs.put("value", val);
@@ -776,6 +1756,7 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 
 		mdl.variable("attrs", attrsToString(attrs));
 		
+		record(Phase.MODEL, field, started);
 		return mdl;
 	}
 
@@ -790,8 +1771,8 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 	
 	@SuppressWarnings("unchecked")
 	private boolean isSelected(Field<T, ?> field, Option opt) {
-		if(field.value().isPresent()) {
-			Object val = field.value().get().get();
+		Object val = supply(field);
+		if(val != null) {
 			if(val.getClass().isArray()) {
 				val = Arrays.asList((Object[])val);
 			}
@@ -800,7 +1781,63 @@ public final class Form<T> extends AbstractElement implements FormType<T> {
 			}
 		}
 		
-		return opt.value().equals(field.value().map(v -> Field.toValString(v.get())).orElse(""));
+		return opt.value().equals(Field.toValString(val));
+	}
+	
+	private Object supply(Field<T, ?> field) {
+		var sup = field.value();
+		if(sup.isEmpty()) {
+			return null;
+		}
+		var event = FormEvents.supplier();
+		var started = started();
+		Throwable error = null;
+		try {
+			var value = sup.get().get();
+			if(rendered != null) {
+				rendered.put(field, value);
+			}
+			return value;
+		}
+		catch(RuntimeException | Error e) {
+			error = e;
+			throw e;
+		}
+		finally {
+			record(Phase.SUPPLIER, field, started);
+			event.complete(this, field, "value", error);
+		}
+	}
+	
+	private List<Option> supplyOptions(Field<T, ?> field) {
+		var event = FormEvents.supplier();
+		var started = started();
+		Throwable error = null;
+		try {
+			return field.options().get().get();
+		}
+		catch(RuntimeException | Error e) {
+			error = e;
+			throw e;
+		}
+		finally {
+			record(Phase.OPTIONS, field, started);
+			event.complete(this, field, "options", error);
+		}
+	}
+	
+	private String formId() {
+		return resolveId().orElse("form");
+	}
+	
+	private long started() {
+		return metrics.isPresent() ? System.nanoTime() : 0;
+	}
+	
+	private void record(Phase phase, Field<T, ?> field, long started) {
+		if(metrics.isPresent()) {
+			metrics.get().record(phase, formId(), field == null ? Optional.empty() : Optional.of(field.resolveName()), System.nanoTime() - started);
+		}
 	}
 
 	protected String attrsToString(Map<String, String> attrs) {
@@ -0,0 +1,130 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormField;
+import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormObject;
+
+/**
+ * Describes how a type is turned into a {@link ReflectiveForm}, i.e. the
+ * properties it has, their {@link FormField} options and how to read, write
+ * and construct instances.
+ * <p>
+ * Descriptors are normally generated at compile time by the
+ * <code>tinytemplate-bootstrap-forms-processor</code> annotation processor for
+ * any type using {@link FormObject} or {@link FormField}, and registered as a
+ * service in <code>META-INF/services</code> (or using <code>provides</code>
+ * in a named module). When {@link ReflectiveForm} finds one for a type, no
+ * reflection is used. Otherwise, one is built using reflection.
+ *
+ * @param <T> type of object
+ */
+public interface FormDescriptor<T> {
+
+	/**
+	 * Suffix appended to the (flattened) simple name of a type to get
+	 * the name of its generated descriptor in the same package. For example,
+	 * <code>com.acme.Person</code> has the descriptor <code>com.acme.PersonFormDescriptor</code>,
+	 * and <code>com.acme.Outer.Inner</code> has the descriptor <code>com.acme.Outer_InnerFormDescriptor</code>.
+	 */
+	String SUFFIX = "FormDescriptor";
+
+	public record TextDescriptor(Optional<String> text, Optional<String> key, Optional<Class<?>> bundle) {
+	}
+
+	public record FieldOptions(Optional<String> id, InputType input, int span, boolean noLabel,
+			Optional<TextDescriptor> label, Optional<TextDescriptor> help, Optional<TextDescriptor> placeholder,
+			Map<String, String> attrs) {
+	}
+
+	public record PropertyDescriptor<T>(String name, Class<?> type, Optional<FieldOptions> options,
+			Optional<Function<T, Object>> getter, Optional<BiConsumer<T, Object>> setter) {
+
+		public String fieldName() {
+			return options.flatMap(FieldOptions::id).orElse(name);
+		}
+	}
+
+	public record ComponentDescriptor<T>(String name, Optional<Function<T, Object>> getter) {
+	}
+
+	/**
+	 * Parse {@link FormField#attrs()} style <code>name=value</code> (or just <code>name</code>)
+	 * strings into a map.
+	 *
+	 * @param attrs attributes
+	 * @return map
+	 */
+	static Map<String, String> attrs(String... attrs) {
+		var map = new LinkedHashMap<String, String>();
+		for(var attr : attrs) {
+			var idx = attr.indexOf('=');
+			if(idx == -1) {
+				map.put(attr, null);
+			}
+			else {
+				map.put(attr.substring(0, idx), attr.substring(idx + 1));
+			}
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Get the name of the generated descriptor for a type.
+	 *
+	 * @param type type
+	 * @return descriptor class name
+	 */
+	static String descriptorName(Class<?> type) {
+		var name = new StringBuilder(type.getSimpleName());
+		for(var enc = type.getEnclosingClass(); enc != null; enc = enc.getEnclosingClass()) {
+			name.insert(0, enc.getSimpleName() + "_");
+		}
+		var pkg = type.getPackageName();
+		return ( pkg.equals("") ? "" : pkg + "." ) + name + SUFFIX;
+	}
+
+	/**
+	 * The type described.
+	 *
+	 * @return type
+	 */
+	Class<T> type();
+
+	/**
+	 * The form ID from {@link FormObject#id()}, if any.
+	 *
+	 * @return id
+	 */
+	Optional<String> id();
+
+	/**
+	 * The properties that will become form fields, in order.
+	 *
+	 * @return properties
+	 */
+	List<PropertyDescriptor<T>> properties();
+
+	/**
+	 * The components of a record type in canonical constructor order, or an empty
+	 * list for any other type.
+	 *
+	 * @return components
+	 */
+	List<ComponentDescriptor<T>> components();
+
+	/**
+	 * Constructs new instances. For a record, this is passed the arguments to
+	 * the canonical constructor in {@link #components()} order, otherwise it is
+	 * passed an empty array and uses the no-argument constructor.
+	 *
+	 * @return constructor
+	 */
+	Optional<Function<Object[], T>> constructor();
+}
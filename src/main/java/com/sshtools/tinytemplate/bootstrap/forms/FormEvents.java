@@ -0,0 +1,94 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+/**
+ * Java Flight Recorder events emitted by {@link Form}. {@link JfrEvents.FormRender} and
+ * {@link JfrEvents.FormReceive} are enabled by default, the per-field events are disabled
+ * by default as they are much more frequent. Each may be enabled and given a
+ * threshold by name in a JFC file, for example :-
+ * <pre>
+ * &lt;configuration version="2.0"&gt;
+ *   &lt;event name="com.sshtools.tinytemplate.bootstrap.forms.FieldValidate"&gt;
+ *     &lt;setting name="enabled"&gt;true&lt;/setting&gt;
+ *     &lt;setting name="threshold"&gt;1 ms&lt;/setting&gt;
+ *   &lt;/event&gt;
+ * &lt;/configuration&gt;
+ * </pre>
+ * .. and used alongside the default settings with
+ * <code>-XX:StartFlightRecording:settings=default,settings=forms.jfc</code>.
+ * <p>
+ * The <code>jdk.jfr</code> module is optional. When it is not in the runtime, or not
+ * resolved in a modular application (add <code>--add-modules jdk.jfr</code> if nothing 
+ * else requires it), no events are emitted. The events themselves are in {@link JfrEvents},
+ * and each method here returns a shared no-op event when nothing would be recorded, so
+ * nothing is allocated.
+ */
+final class FormEvents {
+
+	final static String OK = "ok";
+	final static String VALID = "valid";
+	final static String INVALID = "invalid";
+
+	interface RenderEvent {
+		void complete(Form<?> form, int fields, Throwable error);
+	}
+
+	interface ReceiveEvent {
+		void complete(Form<?> form, int fields, String outcome);
+	}
+
+	interface ConvertEvent {
+		void complete(Form<?> form, Field<?, ?> field, Throwable error);
+	}
+
+	interface ValidateEvent {
+		void complete(Form<?> form, Field<?, ?> field, Class<?> validator, String outcome);
+	}
+
+	interface SupplierEvent {
+		void complete(Form<?> form, Field<?, ?> field, String supplier, Throwable error);
+	}
+
+	final static RenderEvent NO_RENDER = (form, fields, error) -> {};
+	final static ReceiveEvent NO_RECEIVE = (form, fields, outcome) -> {};
+	final static ConvertEvent NO_CONVERT = (form, field, error) -> {};
+	final static ValidateEvent NO_VALIDATE = (form, field, validator, outcome) -> {};
+	final static SupplierEvent NO_SUPPLIER = (form, field, supplier, error) -> {};
+
+	private final static boolean AVAILABLE = available();
+
+	private FormEvents() {
+	}
+
+	static RenderEvent render() {
+		return AVAILABLE ? JfrEvents.render() : NO_RENDER;
+	}
+
+	static ReceiveEvent receive() {
+		return AVAILABLE ? JfrEvents.receive() : NO_RECEIVE;
+	}
+
+	static ConvertEvent convert() {
+		return AVAILABLE ? JfrEvents.convert() : NO_CONVERT;
+	}
+
+	static ValidateEvent validate() {
+		return AVAILABLE ? JfrEvents.validate() : NO_VALIDATE;
+	}
+
+	static SupplierEvent supplier() {
+		return AVAILABLE ? JfrEvents.supplier() : NO_SUPPLIER;
+	}
+
+	static String outcome(Throwable error) {
+		return error == null ? OK : error.getClass().getName();
+	}
+
+	static String formId(Form<?> form) {
+		return form.resolveId().orElse("form");
+	}
+
+	private static boolean available() {
+		var jfr = ModuleLayer.boot().findModule("jdk.jfr");
+		return jfr.isPresent() && FormEvents.class.getModule().canRead(jfr.get());
+	}
+}
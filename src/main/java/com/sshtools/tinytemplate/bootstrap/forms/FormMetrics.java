@@ -0,0 +1,91 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import java.util.Optional;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.Validator;
+
+/**
+ * Receives timings for each phase of rendering and receiving a {@link Form}, so
+ * they may be passed on to a metrics backend. Each call is one occurrence of a phase,
+ * so counts are the number of calls.
+ * <p>
+ * Metrics are opt-in, either per form using {@link AbstractFormBuilder#metrics(FormMetrics)},
+ * or for all forms using {@link DefaultFramework#metrics(FormMetrics)}. When there are no
+ * metrics, no timings are taken at all.
+ * <p>
+ * Implementations may be called concurrently from many forms, and should return quickly.
+ */
+public interface FormMetrics {
+
+	public enum Phase {
+		/**
+		 * Building a template model, once for the form, and once for each field and input.
+		 * The models of fields are built lazily, during template processing, so this phase
+		 * overlaps {@link #TEMPLATE}.
+		 */
+		MODEL,
+		/**
+		 * Processing the form template to produce HTML using {@link Form#render(com.sshtools.tinytemplate.Templates.TemplateProcessor)}.
+		 * Includes all other rendering phases.
+		 */
+		TEMPLATE,
+		/**
+		 * Calling the value supplier of a field.
+		 */
+		SUPPLIER,
+		/**
+		 * Calling the options supplier of a field.
+		 */
+		OPTIONS,
+		/**
+		 * Resolving a label, help or placeholder text of a field.
+		 */
+		I18N,
+		/**
+		 * Receiving submitted form data using {@link Form#receive(java.util.function.Consumer, boolean)}.
+		 * Includes all other receive phases.
+		 */
+		RECEIVE,
+		/**
+		 * Converting a submitted string to a field value.
+		 */
+		CONVERT,
+		/**
+		 * Running a single validator against a submitted value.
+		 */
+		VALIDATE,
+		/**
+		 * Checking if a field that was not submitted is required.
+		 */
+		REQUIRED,
+		/**
+		 * Evaluating the dependencies of a field to see if it is visible, and so whether
+		 * it is received and actually required.
+		 */
+		DEPENDENCY
+	}
+
+	/**
+	 * A phase has completed.
+	 *
+	 * @param phase phase
+	 * @param form form ID
+	 * @param field field name, or empty for the form as a whole
+	 * @param nanos time taken in nanoseconds
+	 */
+	void record(Phase phase, String form, Optional<String> field, long nanos);
+
+	/**
+	 * A validator has run against a submitted value. By default, this is recorded as
+	 * a {@link Phase#VALIDATE} phase.
+	 *
+	 * @param form form ID
+	 * @param field field name
+	 * @param validator validator
+	 * @param valid whether the value passed validation
+	 * @param nanos time taken in nanoseconds
+	 */
+	default void validated(String form, String field, Validator<?> validator, boolean valid, long nanos) {
+		record(Phase.VALIDATE, form, Optional.of(field), nanos);
+	}
+}
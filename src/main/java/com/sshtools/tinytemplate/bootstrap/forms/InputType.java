@@ -2,7 +2,6 @@ package com.sshtools.tinytemplate.bootstrap.forms;
 
 import java.util.Optional;
 
-import com.sshtools.tinytemplate.bootstrap.forms.Validation.RangeValidator;
 import com.sshtools.tinytemplate.bootstrap.forms.Validation.Validator;
 
 public enum InputType implements Templatable {
@@ -13,14 +12,14 @@ public enum InputType implements Templatable {
 		ATTRIBUTE, CHECKED, CONTENT, CHECKED_VALUE, NONE
 	}
 	
+	/**
+	 * Validators used when a field has none of its own. Limits such as <code>min</code> and
+	 * <code>max</code> are enforced by {@link Constraints}, so none are needed for those.
+	 *
+	 * @return validators
+	 */
 	public Validator<?>[] defaultValidators() {
-		switch(this) {
-		case NUMBER:
-		case RANGE:
-			return new Validator<?>[] { new RangeValidator<Number>() };
-		default:
-			return new Validator<?>[0];
-		}
+		return new Validator<?>[0];
 	}
 	
 	public boolean supportsFloating() {
@@ -0,0 +1,248 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import com.sshtools.tinytemplate.bootstrap.forms.FormEvents.ConvertEvent;
+import com.sshtools.tinytemplate.bootstrap.forms.FormEvents.ReceiveEvent;
+import com.sshtools.tinytemplate.bootstrap.forms.FormEvents.RenderEvent;
+import com.sshtools.tinytemplate.bootstrap.forms.FormEvents.SupplierEvent;
+import com.sshtools.tinytemplate.bootstrap.forms.FormEvents.ValidateEvent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events behind {@link FormEvents}. Only loaded when the
+ * <code>jdk.jfr</code> module is available.
+ * <p>
+ * An event is only allocated if it is enabled in a running recording. This is checked
+ * using a single instance of each event type that is never committed, as 
+ * {@link Event#isEnabled()} is cheap and follows recordings as they start and stop,
+ * whereas looking up the <code>EventType</code> would initialise the recorder.
+ */
+final class JfrEvents {
+
+	private final static String PREFIX = "com.sshtools.tinytemplate.bootstrap.forms.";
+
+	@Name(PREFIX + "FormRender")
+	@Label("Form Render")
+	@Description("A form was rendered to HTML")
+	@Category({ "TinyTemplate", "Forms" })
+	@StackTrace(false)
+	final static class FormRender extends Event implements RenderEvent {
+		@Label("Form")
+		String form;
+
+		@Label("Fields")
+		int fields;
+
+		@Label("Outcome")
+		@Description("'ok', or the class name of the exception thrown")
+		String outcome;
+
+		@Override
+		public void complete(Form<?> form, int fields, Throwable error) {
+			end();
+			if(shouldCommit()) {
+				this.form = FormEvents.formId(form);
+				this.fields = fields;
+				this.outcome = FormEvents.outcome(error);
+				commit();
+			}
+		}
+	}
+
+	@Name(PREFIX + "FormReceive")
+	@Label("Form Receive")
+	@Description("Submitted form data was received")
+	@Category({ "TinyTemplate", "Forms" })
+	@StackTrace(false)
+	final static class FormReceive extends Event implements ReceiveEvent {
+		@Label("Form")
+		String form;
+
+		@Label("Fields")
+		@Description("Number of fields submitted")
+		int fields;
+
+		@Label("Outcome")
+		@Description("'valid', 'invalid', or the class name of the exception thrown")
+		String outcome;
+
+		@Override
+		public void complete(Form<?> form, int fields, String outcome) {
+			end();
+			if(shouldCommit()) {
+				this.form = FormEvents.formId(form);
+				this.fields = fields;
+				this.outcome = outcome;
+				commit();
+			}
+		}
+	}
+
+	@Name(PREFIX + "FieldConvert")
+	@Label("Field Convert")
+	@Description("A submitted string was converted to a field value")
+	@Category({ "TinyTemplate", "Forms", "Fields" })
+	@StackTrace(false)
+	@Enabled(false)
+	final static class FieldConvert extends Event implements ConvertEvent {
+		@Label("Form")
+		String form;
+
+		@Label("Field")
+		String field;
+
+		@Label("Input Type")
+		String inputType;
+
+		@Label("Outcome")
+		@Description("'ok', or the class name of the exception thrown")
+		String outcome;
+
+		@Override
+		public void complete(Form<?> form, Field<?, ?> field, Throwable error) {
+			end();
+			if(shouldCommit()) {
+				this.form = FormEvents.formId(form);
+				this.field = field.resolveName();
+				this.inputType = field.resolveInputType().name();
+				this.outcome = FormEvents.outcome(error);
+				commit();
+			}
+		}
+	}
+
+	@Name(PREFIX + "FieldValidate")
+	@Label("Field Validate")
+	@Description("A validator was run against a submitted field value")
+	@Category({ "TinyTemplate", "Forms", "Fields" })
+	@StackTrace(false)
+	@Enabled(false)
+	final static class FieldValidate extends Event implements ValidateEvent {
+		@Label("Form")
+		String form;
+
+		@Label("Field")
+		String field;
+
+		@Label("Input Type")
+		String inputType;
+
+		@Label("Validator")
+		Class<?> validator;
+
+		@Label("Outcome")
+		@Description("'valid', 'invalid', or the class name of the exception thrown")
+		String outcome;
+
+		@Override
+		public void complete(Form<?> form, Field<?, ?> field, Class<?> validator, String outcome) {
+			end();
+			if(shouldCommit()) {
+				this.form = FormEvents.formId(form);
+				this.field = field.resolveName();
+				this.inputType = field.resolveInputType().name();
+				this.validator = validator;
+				this.outcome = outcome;
+				commit();
+			}
+		}
+	}
+
+	@Name(PREFIX + "SupplierCall")
+	@Label("Supplier Call")
+	@Description("The value or options supplier of a field was called")
+	@Category({ "TinyTemplate", "Forms", "Fields" })
+	@StackTrace(false)
+	@Enabled(false)
+	final static class SupplierCall extends Event implements SupplierEvent {
+		@Label("Form")
+		String form;
+
+		@Label("Field")
+		String field;
+
+		@Label("Input Type")
+		String inputType;
+
+		@Label("Supplier")
+		@Description("'value' or 'options'")
+		String supplier;
+
+		@Label("Outcome")
+		@Description("'ok', or the class name of the exception thrown")
+		String outcome;
+
+		@Override
+		public void complete(Form<?> form, Field<?, ?> field, String supplier, Throwable error) {
+			end();
+			if(shouldCommit()) {
+				this.form = FormEvents.formId(form);
+				this.field = field.resolveName();
+				this.inputType = field.resolveInputType().name();
+				this.supplier = supplier;
+				this.outcome = FormEvents.outcome(error);
+				commit();
+			}
+		}
+	}
+
+	private final static FormRender RENDER = new FormRender();
+	private final static FormReceive RECEIVE = new FormReceive();
+	private final static FieldConvert CONVERT = new FieldConvert();
+	private final static FieldValidate VALIDATE = new FieldValidate();
+	private final static SupplierCall SUPPLIER = new SupplierCall();
+
+	private JfrEvents() {
+	}
+
+	static RenderEvent render() {
+		if(RENDER.isEnabled()) {
+			var event = new FormRender();
+			event.begin();
+			return event;
+		}
+		return FormEvents.NO_RENDER;
+	}
+
+	static ReceiveEvent receive() {
+		if(RECEIVE.isEnabled()) {
+			var event = new FormReceive();
+			event.begin();
+			return event;
+		}
+		return FormEvents.NO_RECEIVE;
+	}
+
+	static ConvertEvent convert() {
+		if(CONVERT.isEnabled()) {
+			var event = new FieldConvert();
+			event.begin();
+			return event;
+		}
+		return FormEvents.NO_CONVERT;
+	}
+
+	static ValidateEvent validate() {
+		if(VALIDATE.isEnabled()) {
+			var event = new FieldValidate();
+			event.begin();
+			return event;
+		}
+		return FormEvents.NO_VALIDATE;
+	}
+
+	static SupplierEvent supplier() {
+		if(SUPPLIER.isEnabled()) {
+			var event = new SupplierCall();
+			event.begin();
+			return event;
+		}
+		return FormEvents.NO_SUPPLIER;
+	}
+}
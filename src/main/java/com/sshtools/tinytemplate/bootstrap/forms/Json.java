@@ -0,0 +1,52 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+/**
+ * Just enough JSON to talk to <code>ttbs.js</code>.
+ */
+final class Json {
+
+	private Json() {
+	}
+
+	static String quote(String str) {
+		var bldr = new StringBuilder(str.length() + 2);
+		quote(bldr, str);
+		return bldr.toString();
+	}
+
+	static void quote(StringBuilder bldr, String str) {
+		bldr.append('"');
+		for(int i = 0; i < str.length(); i++) {
+			var ch = str.charAt(i);
+			switch(ch) {
+			case '"':
+				bldr.append("\\\"");
+				break;
+			case '\\':
+				bldr.append("\\\\");
+				break;
+			case '\n':
+				bldr.append("\\n");
+				break;
+			case '\r':
+				bldr.append("\\r");
+				break;
+			case '\t':
+				bldr.append("\\t");
+				break;
+			case '<':
+				/* Safe to embed in a script element */
+				bldr.append("\\u003c");
+				break;
+			default:
+				if(ch < 0x20) {
+					bldr.append(String.format("\\u%04x", (int)ch));
+				}
+				else {
+					bldr.append(ch);
+				}
+			}
+		}
+		bldr.append('"');
+	}
+}
@@ -0,0 +1,129 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Changes to a list valued {@link Field} as operations, rather than the whole list. Submitted
+ * by <code>ttbs.js</code> for fields built with {@link Field.Builder#listDelta()}, and either
+ * passed to {@link Field.Builder#listUpdate(java.util.function.Consumer)}, or applied to
+ * the current value of the field.
+ * <p>
+ * When submitted, each operation is a line, <code>+item</code> to add an item, <code>-item</code>
+ * to remove it and <code>&gt;index item</code> to move it to an index. Items are percent
+ * encoded, as with <code>encodeURIComponent()</code>, so may contain new lines.
+ *
+ * @param <I> type of item
+ * @param ops operations, in the order they were made
+ */
+public record ListDelta<I>(List<Op<I>> ops) {
+
+	public enum Kind {
+		ADD, REMOVE, MOVE
+	}
+
+	/**
+	 * A single operation.
+	 *
+	 * @param <I> type of item
+	 * @param kind kind
+	 * @param item item
+	 * @param index index to move to, or -1 if not a move
+	 */
+	public record Op<I>(Kind kind, I item, int index) {
+	}
+
+	public boolean empty() {
+		return ops.isEmpty();
+	}
+
+	/**
+	 * All items added, for example to check each against the field's constraints.
+	 *
+	 * @return items added
+	 */
+	public List<I> added() {
+		return ops.stream().filter(op -> op.kind() == Kind.ADD).map(Op::item).toList();
+	}
+
+	/**
+	 * Apply the operations to a copy of a list. Removing or moving an item that is not in
+	 * the list does nothing, and moving past the end moves to the end.
+	 *
+	 * @param current current list, may be <code>null</code>
+	 * @return new list
+	 */
+	public List<I> apply(Collection<? extends I> current) {
+		var list = current == null ? new ArrayList<I>() : new ArrayList<I>(current);
+		for(var op : ops) {
+			switch(op.kind()) {
+			case ADD:
+				list.add(op.item());
+				break;
+			case REMOVE:
+				list.remove(op.item());
+				break;
+			default:
+				if(list.remove(op.item())) {
+					list.add(Math.min(op.index(), list.size()), op.item());
+				}
+				break;
+			}
+		}
+		return list;
+	}
+
+	static <I> ListDelta<I> parse(String ops, Function<String, I> converter) {
+		if(ops.isEmpty()) {
+			return new ListDelta<>(Collections.emptyList());
+		}
+		var l = new ArrayList<Op<I>>();
+		for(var line : ops.split("\r?\n")) {
+			if(line.isEmpty()) {
+				continue;
+			}
+			var item = line.substring(1);
+			switch(line.charAt(0)) {
+			case '+':
+				l.add(new Op<>(Kind.ADD, converter.apply(decode(item)), -1));
+				break;
+			case '-':
+				l.add(new Op<>(Kind.REMOVE, converter.apply(decode(item)), -1));
+				break;
+			case '>':
+				var idx = item.indexOf(' ');
+				if(idx == -1) {
+					throw new IllegalArgumentException(MessageFormat.format("Move ''{0}'' has no index.", line));
+				}
+				l.add(new Op<>(Kind.MOVE, converter.apply(decode(item.substring(idx + 1))), index(line, item.substring(0, idx))));
+				break;
+			default:
+				throw new IllegalArgumentException(MessageFormat.format("Unknown list operation ''{0}''.", line));
+			}
+		}
+		return new ListDelta<>(Collections.unmodifiableList(l));
+	}
+
+	private static int index(String line, String index) {
+		try {
+			var i = Integer.parseInt(index);
+			if(i < 0) {
+				throw new IllegalArgumentException(MessageFormat.format("Move ''{0}'' has a negative index.", line));
+			}
+			return i;
+		}
+		catch(NumberFormatException nfe) {
+			throw new IllegalArgumentException(MessageFormat.format("Move ''{0}'' has an invalid index.", line), nfe);
+		}
+	}
+
+	private static String decode(String item) {
+		return URLDecoder.decode(item.replace("+", "%2B"), StandardCharsets.UTF_8);
+	}
+}
@@ -1,12 +1,38 @@
 package com.sshtools.tinytemplate.bootstrap.forms;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.sshtools.tinytemplate.Templates.TemplateModel;
 import com.sshtools.tinytemplate.Templates.TemplateProcessor;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.FieldFeedback;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.FormDataReceiver;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.Results;
+import com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor.ComponentDescriptor;
+import com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor.FieldOptions;
+import com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor.PropertyDescriptor;
+import com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor.TextDescriptor;
 import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormField;
 import com.sshtools.tinytemplate.bootstrap.forms.annotations.FormObject;
 
@@ -53,8 +79,26 @@ public final class ReflectiveForm<T> extends AbstractElement implements FormType
 		}
 	}
 
+	/**
+	 * Metadata is attached to each class it describes, and lives as long as that class does. 
+	 * The accessors it holds refer back to the class, its methods and the class loader of 
+	 * <em>this</em> library, so while a class is reachable it keeps this library's class loader 
+	 * reachable too. This is only a problem when this library is loaded by a class loader that 
+	 * is discarded (e.g. a redeployed web application) but the form objects are loaded by a 
+	 * longer lived parent. In that case the old class loader cannot be collected until the 
+	 * parent is, so load this library alongside the form objects or higher.
+	 */
+	private final static ClassValue<TypeMetadata> METADATA = new ClassValue<>() {
+		@Override
+		protected TypeMetadata computeValue(Class<?> type) {
+			return new TypeMetadata(generated(type).orElseGet(() -> Reflection.scan(type)));
+		}
+	};
+
 	private final Form<T> form;
 	private final Locale locale;
+	private final Optional<T> instance;
+	private final FormDescriptor<T> descriptor;
 	
 	@SuppressWarnings("unchecked")
 	private ReflectiveForm(Builder<T> bldr) {
@@ -63,187 +107,620 @@ public final class ReflectiveForm<T> extends AbstractElement implements FormType
 		locale = bldr.locale.orElseGet(Locale::getDefault);
 		var formBldr = new Form.Builder<T>(bldr.instance, bldr.type);
 		formBldr.templates(bldr.templates);
+		bldr.metrics.ifPresent(formBldr::metrics);
+		bldr.executor.ifPresent(formBldr::executor);
+		if(bldr.trackChanges) {
+			formBldr.trackChanges();
+		}
+		bldr.lazySections.ifPresent(formBldr::lazySections);
+		bldr.activeSection.ifPresent(formBldr::activeSection);
 		
-		var type = bldr.resolveType();
-		var formObjectData = type.getAnnotation(FormObject.class);
+		instance = bldr.instance;
+		var metadata = METADATA.get(bldr.resolveType());
+		descriptor = (FormDescriptor<T>) metadata.descriptor;
 		
-		formBldr.id =  bldr.id.or(() -> Optional.ofNullable(
-			formObjectData == null || formObjectData.id().equals("") ? null : formObjectData.id()
-		));
+		formBldr.id =  bldr.id.or(() -> descriptor.id());
 		
-		java.lang.reflect.Field[] fields;
-		if(formObjectData == null || !formObjectData.declared()) {
-			fields = type.getDeclaredFields();
-		}
-		else {
-			fields = type.getFields();
+		var texts = metadata.texts(locale);
+		var properties = descriptor.properties();
+		for(int i = 0 ; i < properties.size(); i++) {
+			var property = properties.get(i);
+			var text = texts.get(i);
+			formBldr.field(fldbldr -> {
+				fldbldr.type((Class<Object>)property.type());
+				configure(property, text, fldbldr);
+				bind(property, fldbldr);
+			});
 		}
 		
-		var all = formObjectData == null || formObjectData.all();
-		
-		// Fields 
+		form = formBldr.build();
 		
-		for(var field : fields) {
-			var annot = field.getAnnotation(FormField.class);
-			
-			if( (all && (annot == null || !annot.exclude())) || 
-                (!all && (annot != null && !annot.exclude())) 					
-			  ) {
-				
-				formBldr.field(fldbldr -> {
-					fldbldr.type((Class<Object>) field.getType());
-					configureFromAnnotation(field.getName(), annot, fldbldr);
-				});
-				
+	}
+	
+	/**
+	 * Get the underlying {@link Form}.
+	 * 
+	 * @return form
+	 */
+	public Form<T> form() {
+		return form;
+	}
+	
+	public Results<T> receive(Consumer<FormDataReceiver> receiver) {
+		return form.receive(receiver);
+	}
+	
+	public Results<T> receive(Consumer<FormDataReceiver> receiver, boolean validate) {
+		return form.receive(receiver, validate);
+	}
+	
+	public Results<T> receiveAsync(Consumer<FormDataReceiver> receiver, Duration deadline) {
+		return form.receiveAsync(receiver, deadline);
+	}
+	
+	public Results<T> receivePartial(Consumer<FormDataReceiver> receiver) {
+		return form.receivePartial(receiver);
+	}
+	
+	public FieldFeedback<T> validateField(String name, String value) {
+		return form.validateField(name, value);
+	}
+	
+	public FieldFeedback<T> validateField(String name, String value, Map<String, String> snapshot) {
+		return form.validateField(name, value, snapshot);
+	}
+	
+	/**
+	 * Get the object the received results apply to. When editing, this will be
+	 * the original instance (with any updates already applied to it by 
+	 * {@link #receive(Consumer)}), unless the type is a record, in which case
+	 * a new record is constructed from the original and the received values.
+	 * <p>
+	 * When creating, a new instance is constructed. Records are built using their 
+	 * canonical constructor, any other type must have a no-argument constructor and
+	 * have setters or non-final fields for the received values.
+	 *  
+	 * @param results results
+	 * @return instance
+	 */
+	public T instance(Results<T> results) {
+		if(descriptor.type().isRecord()) {
+			var components = descriptor.components();
+			var args = new Object[components.size()];
+			for(int i = 0 ; i < args.length ; i++) {
+				var component = components.get(i);
+				var idx = i;
+				property(component.name()).
+					flatMap(p -> results.optionalValue(p.fieldName())).
+					ifPresentOrElse(v -> args[idx] = v, () -> instance.ifPresent(obj -> 
+						args[idx] = component.getter().orElseThrow(() -> new IllegalStateException(MessageFormat.format("Cannot access record component ''{0}'' of ''{1}''.", component.name(), descriptor.type().getName()))).apply(obj)
+					));
 			}
+			return constructor().apply(args);
 		}
-		
-		// Methods
-		
-		Method[] methods;
-		if(formObjectData == null || !formObjectData.declared()) {
-			methods = type.getDeclaredMethods();
+		else if(instance.isPresent()) {
+			return instance.get();
 		}
 		else {
-			methods = type.getMethods();
+			var obj = constructor().apply(new Object[0]);
+			for(var property : descriptor.properties()) {
+				results.optionalValue(property.fieldName()).ifPresent(v -> 
+					property.setter().orElseThrow(() -> new IllegalStateException(MessageFormat.format("No setter or non-final field for ''{0}'' in ''{1}''.", property.name(), descriptor.type().getName()))).accept(obj, v)
+				);
+			}
+			return obj;
 		}
-		
-		for(var method : methods) {
+	}
+	
+	private Function<Object[], T> constructor() {
+		return descriptor.constructor().orElseThrow(() -> new IllegalStateException(MessageFormat.format("''{0}'' has no accessible constructor suitable for creating new instances.", descriptor.type().getName())));
+	}
+	
+	private Optional<PropertyDescriptor<T>> property(String name) {
+		return descriptor.properties().stream().filter(m -> m.name().equals(name)).findFirst();
+	}
+	
+	private void bind(PropertyDescriptor<T> property, Field.Builder<T, Object> fldbldr) {
+		if(instance.isPresent()) {
+			var obj = instance.get();
+			property.getter().ifPresent(g -> fldbldr.value(() -> g.apply(obj)));
+			if(descriptor.type().isRecord()) {
+				/* Immutable, received values are used by instance() to build a new record */
+				fldbldr.update(v -> {});
+			}
+			else {
+				property.setter().ifPresent(s -> fldbldr.update(v -> s.accept(obj, v)));
+			}
+		}
+		else {
+			/* Nothing to update yet, received values are used by instance() */
+			fldbldr.update(v -> {});
+		}
+	}
+
+	private void configure(PropertyDescriptor<T> property, FieldTexts texts, Field.Builder<T, Object> fldbldr) {
+		property.options().ifPresentOrElse(opts -> {
+			fldbldr.id(property.fieldName());
+			fldbldr.input(opts.input());
+			if(opts.span() > 0) {
+				fldbldr.span(opts.span());
+			}
+			
+			if(opts.noLabel())
+				fldbldr.noLabel();
+			else 
+				texts.label().ifPresent(fldbldr::label);
+			
+			texts.help().ifPresent(fldbldr::help);
+			texts.placeholder().ifPresent(fldbldr::placeholder);
 			
-			var annot = method.getAnnotation(FormField.class);
+			opts.attrs().forEach(fldbldr::attr);
 			
-			if(method.getReturnType().equals(void.class) || method.getReturnType().equals(Void.class) || method.getParameterCount() > 0) {
-				continue;
+			/* TODO classes etc */
+		}, () -> fldbldr.id(property.name()));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static Optional<FormDescriptor<?>> generated(Class<?> type) {
+		var name = FormDescriptor.descriptorName(type);
+		return ServiceLoader.load(FormDescriptor.class, type.getClassLoader()).stream().
+				filter(p -> p.type().getName().equals(name)).
+				findFirst().
+				map(p -> (FormDescriptor<?>)p.get());
+	}
+
+	/**
+	 * Everything that can be learnt about a type once, and re-used for every 
+	 * form subsequently built for it. Obtained through {@link #METADATA}.
+	 */
+	private final static class TypeMetadata {
+		private final FormDescriptor<?> descriptor;
+		private final Map<Locale, List<FieldTexts>> texts = new ConcurrentHashMap<>();
+		
+		private TypeMetadata(FormDescriptor<?> descriptor) {
+			this.descriptor = descriptor;
+		}
+
+		List<FieldTexts> texts(Locale locale) {
+			return texts.computeIfAbsent(locale, l -> 
+				descriptor.properties().stream().map(m -> m.options().map(a -> FieldTexts.of(a, l)).orElse(FieldTexts.NONE)).toList()
+			);
+		}
+	}
+	
+	private record FieldTexts(Optional<Text> label, Optional<Text> help, Optional<Text> placeholder) {
+		private final static FieldTexts NONE = new FieldTexts(Optional.empty(), Optional.empty(), Optional.empty());
+		
+		static FieldTexts of(FieldOptions options, Locale locale) {
+			return new FieldTexts(
+				options.label().map(t -> resolve(t, locale)), 
+				options.help().map(t -> resolve(t, locale)), 
+				options.placeholder().map(t -> resolve(t, locale))
+			);
+		}
+		
+		private static Text resolve(TextDescriptor text, Locale locale) {
+			var bldr = new Text.Builder();
+			text.text().ifPresent(bldr::text);
+			text.key().ifPresent(bldr::key);
+			text.bundle().ifPresent(b -> bldr.bundle(ResourceBundle.getBundle(b.getName(), locale, b.getClassLoader())));
+			return bldr.build();
+		}
+	}
+	
+	/**
+	 * Builds a {@link FormDescriptor} using reflection, for types that have no 
+	 * generated descriptor.
+	 */
+	private final static class Reflection {
+
+		@SuppressWarnings("unchecked")
+		static <T> FormDescriptor<T> scan(Class<T> type) {
+			var formObjectData = type.getAnnotation(FormObject.class);
+			var lookup = Accessors.lookup(type);
+			var properties = new LinkedHashMap<String, PropertyDescriptor<T>>();
+			
+			java.lang.reflect.Field[] fields;
+			if(formObjectData == null || !formObjectData.declared()) {
+				fields = type.getDeclaredFields();
 			}
+			else {
+				fields = type.getFields();
+			}
+			
+			var all = formObjectData == null || formObjectData.all();
 			
-			var name = isGetter(method.getName());
-			if(name == null) {
-				continue;
+			// Fields 
+			
+			for(var field : fields) {
+				if(Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				
+				var annot = field.getAnnotation(FormField.class);
+				
+				if( (all && (annot == null || !annot.exclude())) || 
+	                (!all && (annot != null && !annot.exclude())) 					
+				  ) {
+					properties.put(field.getName(), new PropertyDescriptor<>(
+						field.getName(), 
+						Accessors.boxed(field.getType()), 
+						options(annot),
+						Accessors.<T>getter(lookup, field),
+						Accessors.<T>setter(lookup, field)
+					));
+				}
 			}
 			
-			if(annot == null && ( 
-					name.equals("class") || 
-					name.equals("toString") || 
-					name.equals("hashCode")
-				) ) {
-				continue;
-			}
-					
+			// Methods
 			
-			if( (all && (annot == null || !annot.exclude())) || 
-                (!all && (annot != null && !annot.exclude())) 					
-			  ) {
+			Method[] methods;
+			if(formObjectData == null || !formObjectData.declared()) {
+				methods = type.getDeclaredMethods();
+			}
+			else {
+				methods = type.getMethods();
+			}
 			
-				formBldr.field(fldbldr -> {
-					fldbldr.type((Class<Object>) method.getReturnType());
-					configureFromAnnotation(name, annot, fldbldr);
-					
-				});
+			for(var method : methods) {
+				
+				if(Modifier.isStatic(method.getModifiers()) || method.isSynthetic() || method.isBridge()) {
+					continue;
+				}
+				
+				var annot = method.getAnnotation(FormField.class);
+				
+				if(method.getReturnType().equals(void.class) || method.getReturnType().equals(Void.class) || method.getParameterCount() > 0) {
+					continue;
+				}
+				
+				var name = isGetter(method.getName());
+				if(name == null) {
+					continue;
+				}
 				
+				if(annot == null && ( 
+						name.equals("class") || 
+						name.equals("toString") || 
+						name.equals("hashCode")
+					) ) {
+					continue;
+				}
+				
+				if( (all && (annot == null || !annot.exclude())) || 
+	                (!all && (annot != null && !annot.exclude())) 					
+				  ) {
+					/* A getter and the field behind it (e.g. a record component) are 
+					 * the same form field. The getter is preferred for reading, 
+					 * a setter method is preferred for writing.
+					 */
+					var existing = Optional.ofNullable(properties.get(name));
+					var setter = Accessors.<T>setter(lookup, type, name, method.getReturnType());
+					properties.put(name, new PropertyDescriptor<>(
+						name, 
+						Accessors.boxed(method.getReturnType()), 
+						options(annot).or(() -> existing.flatMap(PropertyDescriptor::options)),
+						Accessors.<T>getter(lookup, method).or(() -> existing.flatMap(PropertyDescriptor::getter)),
+						setter.or(() -> existing.flatMap(PropertyDescriptor::setter))
+					));
+				}
 			}
+			
+			var id = Optional.ofNullable(formObjectData == null || formObjectData.id().equals("") ? null : formObjectData.id());
+			var props = Collections.unmodifiableList(new ArrayList<>(properties.values()));
+			var components = type.isRecord() 
+				? Arrays.asList(type.getRecordComponents()).stream().map(rc -> 
+						new ComponentDescriptor<T>(rc.getName(), Accessors.<T>getter(lookup, rc.getAccessor()))
+					).toList()
+				: Collections.<ComponentDescriptor<T>>emptyList();
+			var constructor = Accessors.constructor(lookup, type).map(c -> (Function<Object[], T>)c);
+			
+			return new FormDescriptor<T>() {
+				@Override
+				public Class<T> type() {
+					return type;
+				}
+
+				@Override
+				public Optional<String> id() {
+					return id;
+				}
+
+				@Override
+				public List<PropertyDescriptor<T>> properties() {
+					return props;
+				}
+
+				@Override
+				public List<ComponentDescriptor<T>> components() {
+					return components;
+				}
+
+				@Override
+				public Optional<Function<Object[], T>> constructor() {
+					return constructor;
+				}
+			};
 		}
 		
-		form = formBldr.build();
+		private static Optional<FieldOptions> options(FormField annot) {
+			if(annot == null) {
+				return Optional.empty();
+			}
+			
+			return Optional.of(new FieldOptions(
+				annot.id().equals("") ? Optional.empty() : Optional.of(annot.id()),
+				annot.type(),
+				annot.span(),
+				annot.noLabel(),
+				text(annot.label(), annot.labelKey(), annot.labelBundle()),
+				text(annot.help(), annot.helpKey(), annot.helpBundle()),
+				text(annot.placeholder(), annot.placeholderKey(), annot.placeholderBundle()),
+				FormDescriptor.attrs(annot.attrs())
+			));
+		}
 		
-	}
-	
-	private String isGetter(String name) {
-		if(name.startsWith("get")) {
-			if(name.length() > 3 && Character.isUpperCase(name.charAt(3))) {
-				return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+		private static Optional<TextDescriptor> text(String text, String key, Class<?> bundle) {
+			if(text.equals("") && key.equals("") && bundle.equals(Void.class)) {
+				return Optional.empty();
 			}
-			else
-				return null;
+			return Optional.of(new TextDescriptor(
+				text.equals("") ? Optional.empty() : Optional.of(text),
+				key.equals("") ? Optional.empty() : Optional.of(key),
+				bundle.equals(Void.class) ? Optional.empty() : Optional.of(bundle)
+			));
 		}
-		else if(name.startsWith("is")) {
-			if(name.length() > 2 && Character.isUpperCase(name.charAt(2))) {
-				return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+	
+		private static String isGetter(String name) {
+			if(name.startsWith("get")) {
+				if(name.length() > 3 && Character.isUpperCase(name.charAt(3))) {
+					return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+				}
+				else
+					return null;
 			}
+			else if(name.startsWith("is")) {
+				if(name.length() > 2 && Character.isUpperCase(name.charAt(2))) {
+					return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+				}
+				else
+					return null;
+			}
+			else if(Character.isLowerCase(name.charAt(0)))
+				return name;
 			else
 				return null;
 		}
-		else if(Character.isLowerCase(name.charAt(0)))
-			return name;
-		else
-			return null;
 	}
+	
+	/**
+	 * Generates the accessors used to bind form fields to an object, once per class. 
+	 * <p>
+	 * Getter and setter methods are spun into classes by {@link LambdaMetafactory}, 
+	 * exactly as a method reference would be, so the JIT sees a direct call. This needs 
+	 * a lookup with full privileges in the object's class, or a public method that
+	 * this library can see. Anything else, such as fields, is bound through an adapted 
+	 * {@link MethodHandle}, which is still much cheaper than a reflective 
+	 * {@link Method#invoke(Object, Object...)} but cannot be inlined as deeply.
+	 */
+	private final static class Accessors {
+		
+		private final static MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+		
+		static MethodHandles.Lookup lookup(Class<?> type) {
+			try {
+				ReflectiveForm.class.getModule().addReads(type.getModule());
+				return MethodHandles.privateLookupIn(type, LOOKUP);
+			}
+			catch(IllegalAccessException | SecurityException e) {
+				/* Module does not open the package to us, only public members may be bound */
+				return MethodHandles.publicLookup();
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		static Class<Object> boxed(Class<?> type) {
+			return (Class<Object>)MethodType.methodType(type).wrap().returnType();
+		}
 
-	private void configureFromAnnotation(String id, FormField annot,
-			Field.Builder<T, Object> fldbldr) {
-		if(annot == null) {
-			fldbldr.id(id);
+		static <T> Optional<Function<T, Object>> getter(MethodHandles.Lookup lookup, java.lang.reflect.Field field) {
+			try {
+				return Optional.of(getter(lookup.unreflectGetter(field)));
+			} catch (IllegalAccessException e) {
+				return Optional.empty();
+			}
 		}
-		else {
-			if(annot.id().equals("")) {
-				fldbldr.id(id);
+
+		static <T> Optional<Function<T, Object>> getter(MethodHandles.Lookup lookup, Method method) {
+			try {
+				var handle = lookup.unreflect(method);
+				return Accessors.<Function<T, Object>>lambda(lookup, method, handle, Function.class, "apply", 
+						MethodType.methodType(Object.class, Object.class), 
+						handle.type().wrap()).
+					or(() -> Optional.of(getter(handle)));
+			} catch (IllegalAccessException e) {
+				return Optional.empty();
 			}
-			else {
-				fldbldr.id(annot.id());
+		}
+
+		static <T> Optional<BiConsumer<T, Object>> setter(MethodHandles.Lookup lookup, java.lang.reflect.Field field) {
+			if(Modifier.isFinal(field.getModifiers())) {
+				return Optional.empty();
 			}
-			fldbldr.input(annot.type());
-			if(annot.span() >0) {
-				fldbldr.span(annot.span());
+			try {
+				return Optional.of(setter(lookup.unreflectSetter(field), field.getType()));
+			} catch (IllegalAccessException e) {
+				return Optional.empty();
 			}
-			
-			if(annot.noLabel())
-				fldbldr.noLabel();
-			else {
-				fieldText(annot.label(), annot.labelKey(), annot.labelBundle()).ifPresent(
-						txt -> fldbldr.label(txt)
-				);						
+		}
+		
+		static <T> Optional<BiConsumer<T, Object>> setter(MethodHandles.Lookup lookup, Class<?> type, String name, Class<?> valueType) {
+			var setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+			try {
+				var handle = lookup.findVirtual(type, setterName, MethodType.methodType(void.class, valueType));
+				var method = lookup.revealDirect(handle).reflectAs(Method.class, lookup);
+				return Accessors.<BiConsumer<T, Object>>lambda(lookup, method, handle, BiConsumer.class, "accept", 
+						MethodType.methodType(void.class, Object.class, Object.class), 
+						handle.type().wrap().changeReturnType(void.class)).
+					map(c -> valueType.isPrimitive() ? nullToZero(c, zero(valueType)) : c).
+					or(() -> Optional.of(setter(handle, valueType)));
+			} catch (NoSuchMethodException | IllegalAccessException e) {
+				return Optional.empty();
 			}
-			
-			fieldText(annot.help(), annot.helpKey(), annot.helpBundle()).ifPresent(
-					txt -> fldbldr.help(txt)
-			);
-			
-			fieldText(annot.placeholder(), annot.placeholderKey(), annot.placeholderBundle()).ifPresent(
-					txt -> fldbldr.placeholder(txt));
+		}
 
-			for(var attr : annot.attrs()) {
-				var idx = attr.indexOf('=');
-				String name;
-				String val;
-				if(idx == -1) {
-					name = attr;
-					val = null;
+		static Optional<Function<Object[], Object>> constructor(MethodHandles.Lookup lookup, Class<?> type) {
+			try {
+				if(type.isRecord()) {
+					var components = type.getRecordComponents();
+					var types = new Class<?>[components.length];
+					for(int i = 0 ; i < types.length ; i++)
+						types[i] = components[i].getType();
+					var zeros = zeros(types);
+					var handle = lookup.findConstructor(type, MethodType.methodType(void.class, types)).
+							asSpreader(Object[].class, types.length).
+							asType(MethodType.methodType(Object.class, Object[].class));
+					return Optional.of(args -> {
+						for(int i = 0 ; i < args.length ; i++) {
+							if(args[i] == null)
+								args[i] = zeros[i];
+						}
+						try {
+							return handle.invokeExact(args);
+						}
+						catch(Throwable t) {
+							throw rethrow(type, t);
+						}
+					});
 				}
 				else {
-					name = attr.substring(0, idx);
-					val = attr.substring(idx + 1);
+					var handle = lookup.findConstructor(type, MethodType.methodType(void.class)).
+							asType(MethodType.methodType(Object.class));
+					return Optional.of(args -> {
+						try {
+							return handle.invokeExact();
+						}
+						catch(Throwable t) {
+							throw rethrow(type, t);
+						}
+					});
 				}
-				fldbldr.attr(name, val);
+			}
+			catch(NoSuchMethodException | IllegalAccessException e) {
+				return Optional.empty();
+			}
+		}
+		
+		static Object zero(Class<?> type) {
+			return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+		}
+		
+		private static Object[] zeros(Class<?>[] types) {
+			var zeros = new Object[types.length];
+			for(int i = 0 ; i < types.length ; i++)
+				zeros[i] = zero(types[i]);
+			return zeros;
+		}
+		
+		/**
+		 * Spin a class implementing a functional interface that calls a method directly. 
+		 * The class is defined alongside the method's class if the lookup has full privileges 
+		 * there. Otherwise it is defined alongside this class, which is only possible if the 
+		 * method is public and every type it refers to resolves to the same class from here.
+		 * Methods that declare checked exceptions are left to the caller, so they can be 
+		 * wrapped as they are for method handles.
+		 */
+		@SuppressWarnings("unchecked")
+		private static <F> Optional<F> lambda(MethodHandles.Lookup lookup, Method method, MethodHandle handle, Class<?> iface, String name, MethodType erased, MethodType instantiated) {
+			if(method.getExceptionTypes().length > 0) {
+				return Optional.empty();
 			}
 			
-			/* TODO classes etc */
+			MethodHandles.Lookup caller;
+			if(lookup.hasFullPrivilegeAccess()) {
+				caller = lookup;
+			}
+			else if(Modifier.isPublic(method.getModifiers()) && visible(instantiated)) {
+				caller = LOOKUP;
+			}
+			else {
+				return Optional.empty();
+			}
+			
+			try {
+				var site = LambdaMetafactory.metafactory(caller, name, MethodType.methodType(iface), erased, handle, instantiated);
+				return Optional.of((F)site.getTarget().invoke());
+			}
+			catch(Error e) {
+				throw e;
+			}
+			catch(Throwable t) {
+				/* Cannot be spun from here, e.g. the method is not accessible to the caller */
+				return Optional.empty();
+			}
 		}
-	}
-
-	private Optional<Text> fieldText(String text, String key, Class<?> bundle) {
-		Text.Builder bldr = new Text.Builder();
-		var empty = true;
 		
-		if(!text.equals(""))  {
-			bldr.text(text);
-			empty = false;
+		private static boolean visible(MethodType type) {
+			var loader = ReflectiveForm.class.getClassLoader();
+			for(var clazz : type.parameterList()) {
+				if(!visible(loader, clazz))
+					return false;
+			}
+			return visible(loader, type.returnType());
 		}
 		
-		if(!key.equals("")) { 
-			bldr.key(key);
-			empty = false;
+		private static boolean visible(ClassLoader loader, Class<?> clazz) {
+			while(clazz.isArray())
+				clazz = clazz.getComponentType();
+			if(clazz.isPrimitive()) 
+				return true;
+			try {
+				return Class.forName(clazz.getName(), false, loader) == clazz;
+			}
+			catch(ClassNotFoundException | LinkageError e) {
+				return false;
+			}
 		}
 		
-		if(!bundle.equals(Void.class)) { 
-			bldr.bundle(ResourceBundle.getBundle(bundle.getName(), locale, bundle.getClassLoader()));
-			empty = false;
+		private static <T> BiConsumer<T, Object> nullToZero(BiConsumer<T, Object> setter, Object zero) {
+			return (obj, val) -> setter.accept(obj, val == null ? zero : val);
 		}
 		
-		if(empty)
-			return Optional.empty();
-		else
-			return Optional.of(bldr.build());
+		private static <T> Function<T, Object> getter(MethodHandle handle) {
+			var adapted = handle.asType(MethodType.methodType(Object.class, Object.class));
+			return obj -> {
+				try {
+					return adapted.invokeExact(obj);
+				}
+				catch(Throwable t) {
+					throw rethrow(obj.getClass(), t);
+				}
+			};
+		}
+		
+		private static <T> BiConsumer<T, Object> setter(MethodHandle handle, Class<?> valueType) {
+			var adapted = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			var zero = zero(valueType);
+			return (obj, val) -> {
+				try {
+					adapted.invokeExact(obj, val == null ? zero : val);
+				}
+				catch(Throwable t) {
+					throw rethrow(obj.getClass(), t);
+				}
+			};
+		}
+		
+		private static RuntimeException rethrow(Class<?> type, Throwable t) {
+			if(t instanceof RuntimeException re)
+				return re;
+			else if(t instanceof Error err)
+				throw err;
+			else
+				return new IllegalStateException(MessageFormat.format("Failed to access ''{0}''.", type.getName()), t);
+		}
 	}
-
+	
 	@Override
 	public TemplateModel model() {
 		return form.model();
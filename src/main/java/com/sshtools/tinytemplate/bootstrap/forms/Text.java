@@ -2,7 +2,6 @@ package com.sshtools.tinytemplate.bootstrap.forms;
 
 import java.text.MessageFormat;
 import java.util.Locale;
-import java.util.MissingResourceException;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
@@ -58,6 +57,8 @@ public final class Text {
 		return new Builder().key(key).bundle(ResourceBundle.getBundle(bundle.getName(), locale, bundle.getClassLoader())).args(args).build();
 	}
 	
+	private final static Object[] NO_ARGS = new Object[0];
+	
 	final Optional<String> text;
 	final Optional<String> key;
 	final Optional<Object[]> args;
@@ -103,13 +104,9 @@ public final class Text {
 			var key = this.key.get();
 			var bundle = this.bundle.or(() ->  defBundle).orElseThrow(() -> new IllegalStateException(MessageFormat.format("No bundle for key {}", key)));
 			/* Fixed key, just use the that */
-			try {
-				return MessageFormat.format(bundle.getString(key), args.orElse(new Object[0]));
-			}
-			catch(MissingResourceException mre) {
-				/* Caller was explicit, so they should know the key is missing */
-				return "i18n:" + bundle.getBaseBundleName() + "@" + key;
-			}
+			return BundleIndex.format(bundle, key, args.orElse(NO_ARGS)).
+					/* Caller was explicit, so they should know the key is missing */
+					orElseGet(() -> "i18n:" + bundle.getBaseBundleName() + "@" + key);
 		}
 	}
 }
\ No newline at end of file
@@ -1,9 +1,43 @@
 package com.sshtools.tinytemplate.bootstrap.forms;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 public final class Validation {
 	
+	/**
+	 * The relative cost of a {@link Validator}. The validators of a field are run
+	 * cheapest first, and in declaration order when they cost the same.
+	 */
+	public enum Cost {
+		/**
+		 * Simple structural checks, such as ranges and lengths.
+		 */
+		CHEAP,
+		/**
+		 * The default. For example, regular expressions or parsing.
+		 */
+		MODERATE,
+		/**
+		 * Checks against a data store or other service, such as uniqueness checks.
+		 */
+		EXPENSIVE
+	}
+	
+	/**
+	 * Thrown (or returned by a {@link ResultValidator}) when a value fails validation.
+	 * Validation failures are expected, so by default no stack trace is filled in, making
+	 * them cheap to create and throw.
+	 */
 	@SuppressWarnings("serial")
 	public static class ValidationException extends RuntimeException {
 		private final Field<?, ?> field;
@@ -18,6 +52,18 @@ public final class Validation {
 		}
 		
 		public ValidationException(Field<?, ?> field, Text text) {
+			this(field, text, false);
+		}
+		
+		/**
+		 * Constructor for sub-classes that want a stack trace, for example when debugging.
+		 *
+		 * @param field field
+		 * @param text text
+		 * @param writableStackTrace whether to fill in the stack trace
+		 */
+		protected ValidationException(Field<?, ?> field, Text text, boolean writableStackTrace) {
+			super(null, null, false, writableStackTrace);
 			this.field = field;
 			this.text = Optional.ofNullable(text);
 		}
@@ -34,18 +80,330 @@ public final class Validation {
 	@FunctionalInterface
 	public interface Validator<F>  {
 		void validate(Field<F, ?> field, F value);
+		
+		/**
+		 * The relative cost of this validator.
+		 *
+		 * @return cost
+		 */
+		default Cost cost() {
+			return Cost.MODERATE;
+		}
+	}
+	
+	/**
+	 * A {@link Validator} that returns failures rather than throwing them, so
+	 * {@link Form#receive(java.util.function.Consumer)} can collect them without
+	 * unwinding the stack. It may still be used anywhere a plain {@link Validator}
+	 * is expected.
+	 *
+	 * @param <F> type of value
+	 */
+	@FunctionalInterface
+	public interface ResultValidator<F> extends Validator<F> {
+		
+		/**
+		 * Validate a value.
+		 * 
+		 * @param field field
+		 * @param value value
+		 * @return failure, or empty if valid
+		 */
+		Optional<ValidationException> test(Field<F, ?> field, F value);
+
+		@Override
+		default void validate(Field<F, ?> field, F value) {
+			var res = test(field, value);
+			if(res.isPresent()) {
+				throw res.get();
+			}
+		}
+	}
+	
+	/**
+	 * A {@link Validator} that completes later, for example after an I/O bound check.
+	 * {@link Form#receiveAsync(java.util.function.Consumer, Duration)} starts all of these
+	 * at once and waits for them together. When used by {@link Form#receive(java.util.function.Consumer)},
+	 * each is waited for in turn, running on the calling thread where the validator uses the
+	 * executor it is given.
+	 * <p>
+	 * Asynchronous validators are {@link Cost#EXPENSIVE} by default, so they run after any
+	 * cheaper synchronous validators of the same field.
+	 *
+	 * @param <F> type of value
+	 */
+	@FunctionalInterface
+	public interface AsyncValidator<F> extends Validator<F> {
+		
+		/**
+		 * Wrap a blocking validator so it runs on the executor it is given.
+		 *
+		 * @param <F> type of value
+		 * @param validator validator
+		 * @return asynchronous validator
+		 */
+		static <F> AsyncValidator<F> of(Validator<F> validator) {
+			return (field, value, executor) -> CompletableFuture.supplyAsync(() -> result(validator, field, value), executor);
+		}
+		
+		/**
+		 * Start validating a value.
+		 *
+		 * @param field field
+		 * @param value value
+		 * @param executor executor to run any blocking work on
+		 * @return stage completing with the failure, or empty if valid
+		 */
+		CompletionStage<Optional<ValidationException>> validateAsync(Field<F, ?> field, F value, Executor executor);
+
+		@Override
+		default void validate(Field<F, ?> field, F value) {
+			Optional<ValidationException> res;
+			try {
+				res = validateAsync(field, value, Runnable::run).toCompletableFuture().join();
+			}
+			catch(CompletionException ce) {
+				if(ce.getCause() instanceof RuntimeException re)
+					throw re;
+				else if(ce.getCause() instanceof Error e)
+					throw e;
+				throw ce;
+			}
+			if(res.isPresent()) {
+				throw res.get();
+			}
+		}
+
+		@Override
+		default Cost cost() {
+			return Cost.EXPENSIVE;
+		}
+	}
+	
+	/**
+	 * Give a validator, usually a lambda, a {@link Cost} other than the default.
+	 *
+	 * @param <F> type of value
+	 * @param cost cost
+	 * @param validator validator
+	 * @return validator with cost
+	 */
+	public static <F> Validator<F> withCost(Cost cost, Validator<F> validator) {
+		return new CostedValidator<>(cost, validator);
+	}
+	
+	private static <F> Optional<ValidationException> result(Validator<F> validator, Field<F, ?> field, F value) {
+		if(validator instanceof ResultValidator<F> rv) {
+			return rv.test(field, value);
+		}
+		try {
+			validator.validate(field, value);
+			return Optional.empty();
+		}
+		catch(ValidationException ve) {
+			return Optional.of(ve);
+		}
+	}
+	
+	private final static class CostedValidator<F> implements ResultValidator<F> {
+		private final Cost cost;
+		private final Validator<F> delegate;
+		
+		private CostedValidator(Cost cost, Validator<F> delegate) {
+			this.cost = cost;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Optional<ValidationException> test(Field<F, ?> field, F value) {
+			return result(delegate, field, value);
+		}
+
+		@Override
+		public Cost cost() {
+			return cost;
+		}
 	}
 	
-	public final static class RangeValidator<F extends Number> implements Validator<F> {
+	/**
+	 * Wrap a validator so that its outcomes are cached, using the default size and
+	 * time to live.
+	 *
+	 * @param <F> type of value
+	 * @param validator validator
+	 * @return memoizing validator
+	 */
+	public static <F> MemoizingValidator<F> memoize(Validator<F> validator) {
+		return new MemoizingValidator.Builder<>(validator).build();
+	}
+	
+	/**
+	 * Decorates a pure but expensive {@link Validator}, remembering the outcome for each
+	 * field name and normalized value, so that re-submitting an unchanged value does
+	 * not validate it again. Outcomes are kept in a bounded least recently used cache,
+	 * and expire after a time to live. Unexpected exceptions are never cached.
+	 * <p>
+	 * The delegate is called outside of any lock, so two threads validating the same
+	 * new value at the same time may both call it.
+	 *
+	 * @param <F> type of value
+	 */
+	public final static class MemoizingValidator<F> implements ResultValidator<F> {
+		
+		public final static class Builder<F> {
+			private final Validator<F> delegate;
+			private int maximumSize = 1024;
+			private Duration ttl = Duration.ofMinutes(5);
+			private Function<F, ?> normalizer = Function.identity();
+			
+			public Builder(Validator<F> delegate) {
+				this.delegate = Objects.requireNonNull(delegate);
+			}
+			
+			public Builder<F> maximumSize(int maximumSize) {
+				if(maximumSize < 1)
+					throw new IllegalArgumentException("Maximum size must be at least 1.");
+				this.maximumSize = maximumSize;
+				return this;
+			}
+			
+			public Builder<F> ttl(Duration ttl) {
+				if(ttl.isNegative() || ttl.isZero())
+					throw new IllegalArgumentException("Time to live must be positive.");
+				this.ttl = ttl;
+				return this;
+			}
+			
+			/**
+			 * Normalize values before they are used as the cache key, for example to
+			 * trim or lower-case strings that the delegate treats as equal. The normalized
+			 * value must have proper <code>equals()</code> and <code>hashCode()</code>.
+			 *
+			 * @param normalizer normalizer
+			 * @return this for chaining
+			 */
+			public Builder<F> normalizer(Function<F, ?> normalizer) {
+				this.normalizer = Objects.requireNonNull(normalizer);
+				return this;
+			}
+			
+			public MemoizingValidator<F> build() {
+				return new MemoizingValidator<>(this);
+			}
+		}
+		
+		public record Stats(long hits, long misses, long evictions, int size) {
+		}
+		
+		private record Key(String field, Object value) {
+		}
+		
+		private record Outcome(Optional<ValidationException> failure, long expires) {
+		}
+		
+		private final Validator<F> delegate;
+		private final long ttl;
+		private final Function<F, ?> normalizer;
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder evictions = new LongAdder();
+		private final Map<Key, Outcome> outcomes;
+		
+		private MemoizingValidator(Builder<F> bldr) {
+			this.delegate = bldr.delegate;
+			this.ttl = bldr.ttl.toNanos();
+			this.normalizer = bldr.normalizer;
+			
+			var maximumSize = bldr.maximumSize;
+			this.outcomes = new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, Outcome> eldest) {
+					if(size() > maximumSize) {
+						evictions.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
 
 		@Override
-		public void validate(Field<F, ?> field, F value) {
-			var min = field.attr("min").map(Double::parseDouble).orElse(0d);
-			var max = field.attr("max").map(Double::parseDouble).orElse(Double.MAX_VALUE);
+		public Optional<ValidationException> test(Field<F, ?> field, F value) {
+			var key = new Key(field.resolveName(), value == null ? null : normalizer.apply(value));
+			var now = System.nanoTime();
+			Outcome outcome;
+			synchronized(outcomes) {
+				outcome = outcomes.get(key);
+				if(outcome != null && now - outcome.expires >= 0) {
+					outcomes.remove(key);
+					outcome = null;
+				}
+			}
+			
+			if(outcome == null) {
+				misses.increment();
+				outcome = new Outcome(result(delegate, field, value), now + ttl);
+				synchronized(outcomes) {
+					outcomes.put(key, outcome);
+				}
+			}
+			else {
+				hits.increment();
+			}
+			
+			/* A field of the same name may be from another instance of the form */
+			var failure = outcome.failure;
+			if(failure.isPresent() && failure.get().field() != field) {
+				return Optional.of(new ValidationException(field, failure.get().text().orElse(null)));
+			}
+			return failure;
+		}
+
+		@Override
+		public Cost cost() {
+			return delegate.cost();
+		}
+		
+		public Stats stats() {
+			synchronized(outcomes) {
+				return new Stats(hits.sum(), misses.sum(), evictions.sum(), outcomes.size());
+			}
+		}
+		
+		public void clear() {
+			synchronized(outcomes) {
+				outcomes.clear();
+			}
+		}
+	}
+	
+	/**
+	 * Checks a number against the <code>min</code> and <code>max</code> of its field. These
+	 * are already enforced by {@link Constraints} when a form is received, so this is only
+	 * useful when validating values outside of {@link Form}. A missing limit is unbounded.
+	 *
+	 * @param <F> type of number
+	 */
+	public final static class RangeValidator<F extends Number> implements ResultValidator<F> {
+
+		@Override
+		public Optional<ValidationException> test(Field<F, ?> field, F value) {
+			/* Constraints are compiled once, so nothing is parsed here */
+			var constraints = field.constraints();
+			var min = constraints.min().orElse(Double.NEGATIVE_INFINITY);
+			var max = constraints.max().orElse(Double.POSITIVE_INFINITY);
 			var val = value.doubleValue();
 			if(val < min || val > max) {
-				throw new ValidationException(field);
+				return Optional.of(new ValidationException(field));
 			}
+			return Optional.empty();
+		}
+
+		@Override
+		public Cost cost() {
+			return Cost.CHEAP;
 		}
 		
 	}
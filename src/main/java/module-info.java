@@ -20,7 +20,9 @@
  */
 module com.sshtools.tinytemplate.bootstrap.forms {
 	requires java.logging;
+	requires static jdk.jfr;
 	requires transitive com.sshtools.tinytemplate; 
 	exports com.sshtools.tinytemplate.bootstrap.forms; 
 	opens com.sshtools.tinytemplate.bootstrap.forms;
+	uses com.sshtools.tinytemplate.bootstrap.forms.FormDescriptor;
 }
\ No newline at end of file
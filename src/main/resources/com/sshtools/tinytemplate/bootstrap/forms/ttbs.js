@@ -1,139 +1,681 @@
 class TinyTemplateBoostrapForms {
 	
     constructor() {
-		this.findFormControls();
+		/* Each initialised form, and the controller that removes its listeners */
+		this.forms = new Map();
+		this.addDropZones();
+		if(document.readyState === 'loading') {
+			document.addEventListener('DOMContentLoaded', () => this.start(), { once: true });
+		}
+		else {
+			this.start();
+		}
     }
     
+    start() {
+		this.findFormControls();
+		
+		/* Forms and fragments inserted later are initialised as they arrive, and forms
+		   are torn down when they leave the document */
+		this.observer = new MutationObserver((records) => this.mutated(records));
+		this.observer.observe(document.documentElement, { childList: true, subtree: true });
+	}
+    
     findFormControls() {
 		let forms = document.querySelectorAll('form');
 		forms.forEach((frm) => {
-			
-			/* Deal with field dependencies */
-			let deps = frm.querySelectorAll('[data-depends]');
-			deps.forEach((depEl) => {
-				const depNames = depEl.dataset.depends.split(',');
-				const depValues = depEl.dataset.dependsValue.split(',');
-				if(depNames.length != depValues.length) {
-					alert('Mismatch of data-depends and data-depends-value');
-					throw 'Mismatch of data-depends and data-depends-value';
+			this.initialiseForm(frm);
+		});
+		
+        return true;
+    }
+    
+    initialiseForm(frm) {
+		if(this.forms.has(frm)) {
+			return;
+		}
+		const controller = new AbortController();
+		this.forms.set(frm, controller);
+		
+		/* Deal with field dependencies */
+		this.addDependencies(frm);
+		
+		/* Deal with forms that are patched rather than re-rendered when invalid */
+		if(frm.dataset.patchSubmit !== undefined) {
+			this.addPatchSubmit(frm);
+		}
+		
+		/* Deal with forms that only submit the fields that changed */
+		if(frm.dataset.partialSubmit !== undefined) {
+			this.addPartialSubmit(frm);
+		}
+		
+		/* Deal with list fields that submit their changes rather than the whole list */
+		this.addListDeltas(frm);
+		
+		/* Deal with section tabs that are fetched when first shown */
+		let lazyTabs = frm.querySelectorAll('[data-section-url]');
+		lazyTabs.forEach((tabs) => {
+			this.addLazySections(frm, tabs);
+		});
+		
+		/* Deal with live validation of single fields */
+		let liveInputs = frm.querySelectorAll('[data-live-validate]');
+		liveInputs.forEach((input) => {
+			this.addLiveValidation(frm, input);
+		});
+		
+		/* Deal with file uploads (drag and drop and multiple files) */
+		let templates  = frm.querySelectorAll('template');
+		templates.forEach((t) => {
+			this.addTemplate(t);
+		});
+		let dropzones = frm.querySelectorAll('[data-dropzone]');
+		dropzones.forEach((dz) => {
+			this.markDropZone(dz);
+		});
+		
+		/* Deal with field actions */
+		this.addFieldOpTrigger(frm, 'click');
+		let triggers = frm.querySelectorAll('[data-field-trigger]');
+		triggers.forEach((fa) => {
+			this.addFieldOpTrigger(frm, fa.dataset.fieldTrigger);
+		});
+	}
+	
+	/* Removes every listener added for the form, see signal() */
+	teardownForm(frm) {
+		const controller = this.forms.get(frm);
+		if(controller) {
+			this.forms.delete(frm);
+			controller.abort();
+			delete frm.ttbsDependencies;
+			delete frm.ttbsTriggers;
+		}
+	}
+	
+	signal(frm) {
+		return this.forms.get(frm).signal;
+	}
+	
+	/* Only the inserted nodes are looked at, never the whole document. A form that is
+	   moved is both removed and added, so is only torn down if it is no longer connected. */
+	mutated(records) {
+		let removed = false;
+		records.forEach((record) => {
+			removed = removed || record.removedNodes.length > 0;
+		});
+		if(removed) {
+			this.forms.forEach((controller, frm) => {
+				if(!frm.isConnected) {
+					this.teardownForm(frm);
+				}
+			});
+		}
+		
+		records.forEach((record) => {
+			record.addedNodes.forEach((node) => {
+				if(!(node instanceof Element) || !node.isConnected) {
+					return;
+				}
+				const forms = this.within(node, 'form');
+				if(forms.length > 0) {
+					forms.forEach((frm) => this.initialiseForm(frm));
 				}
 				else {
-					for(let i = 0 ; i < depNames.length; i++) {
-						const dep = depNames[i];
-						let depValuesStr = depValues[i];
-						
-						let negate = false;
-						if(depValuesStr.startsWith('!')) {
-							depValuesStr = depValuesStr.substring(1);
-							negate = true;
-						}
-						
-						let input = frm.elements[dep];
-						let fieldset = this.findFieldset(input);
-						this.checkState(depEl, dep, depValues, input, false, negate);
-						if(fieldset) {
-							fieldset.addEventListener('change', (evt) => { 
-								this.checkState(depEl, dep, depValues, input, fieldset, negate);
-							}); 
-						}
-						else {
-							input.addEventListener('change', (evt) => { 
-								this.checkState(depEl, dep, depValues, input, false, negate);
-							});
-						}
+					const frm = node.closest('form');
+					if(frm && this.forms.has(frm)) {
+						this.initialiseFragment(frm, node);
 					}
 				}
-			});	
-			
-			/* Deal with file uploads (drag and drop and multiple files) */
-			let templates  = frm.querySelectorAll('template');
-			templates.forEach((t) => {
-				this.addTemplatedRow(t);
 			});
-			let dropzones = frm.querySelectorAll('[data-dropzone]');
-			dropzones.forEach((dz) => {
-				
-				let rz = document.getElementById(dz.dataset.dropzone);
-				
-				rz.classList.add('drop-zone');
-				rz.addEventListener('drop', (evt) => {
-					dz.files = evt.dataTransfer.files;
-					rz.classList.remove('border', 'border-2', 'p-3');
-					evt.preventDefault();
-				});
-				rz.addEventListener('dragover', (evt) => {
-					rz.classList.add('border', 'border-2', 'p-3');
-					evt.preventDefault();
-				});
-				rz.addEventListener('dragleave', (evt) => {
-					rz.classList.remove('border', 'border-2', 'p-3');
-				});
+		});
+	}
+	
+	/* Reads the dependency graph the server emitted with the form (see DependencyGraph.toJson()),
+	   and indexes it by the name of each input depended on. A single listener on the form
+	   then only checks the groups that depend on the input that changed. */
+	addDependencies(frm) {
+		const script = frm.querySelector('script[data-form-dependencies]');
+		if(!script) {
+			return;
+		}
+		const groups = JSON.parse(script.textContent);
+		const index = new Map();
+		const byName = new Map();
+		groups.forEach((group) => {
+			byName.set(group.name, group);
+			group.depends.forEach((dep) => {
+				let dependents = index.get(dep.name);
+				if(!dependents) {
+					dependents = [];
+					index.set(dep.name, dependents);
+				}
+				dependents.push(group);
 			});
+		});
+		frm.ttbsDependencies = { index: index, groups: byName };
+		
+		/* The server renders the initial state, so this only changes anything if 
+		   the browser restored different values. Groups are in dependency order. */
+		groups.forEach((group) => {
+			this.checkState(frm, group);
+		});
+		
+		frm.addEventListener('change', (evt) => {
+			if(evt.target.name) {
+				this.dependencyChanged(frm, evt.target.name);
+			}
+		}, { signal: this.signal(frm) });
+	}
+	
+	dependencyChanged(frm, name) {
+		const dependents = frm.ttbsDependencies.index.get(name);
+		if(dependents) {
+			dependents.forEach((group) => {
+				/* Showing or hiding a group may in turn show or hide groups that depend on it */
+				if(this.checkState(frm, group)) {
+					this.dependencyChanged(frm, group.name);
+				}
+			});
+		}
+	}
+	
+	/* Field actions are delegated to the form, with one listener per kind of trigger. Capture
+	   is used so triggers such as 'focus' that do not bubble still reach the form. */
+	addFieldOpTrigger(frm, trigger) {
+		if(!frm.ttbsTriggers) {
+			frm.ttbsTriggers = new Set();
+		}
+		if(frm.ttbsTriggers.has(trigger)) {
+			return;
+		}
+		frm.ttbsTriggers.add(trigger);
+		frm.addEventListener(trigger, (evt) => {
+			const fa = evt.target instanceof Element ? evt.target.closest('[data-field-op]') : null;
+			if(fa && frm.contains(fa) && (fa.dataset.fieldTrigger || 'click') === trigger) {
+				this.fieldOp(fa, evt);
+			}
+		}, { capture: true, signal: this.signal(frm) });
+	}
+	
+	fieldOp(fa, evt) {
+		/* TODO one way at the moment */
+		fa.classList.add('d-none');
+		
+		/* Apply visual effect */
+		let effect = fa.dataset.fieldEffect;
+		if(effect) {
+			let effectTarget = fa.dataset.fieldEffectTarget;
+			if(effectTarget) {
+				let effectEl = document.getElementById(effectTarget);
+				if(effectEl) {
+					if(effect === 'hide') {
+						effectEl.classList.add('d-none');
+					}
+					else if(effect === 'strikethru') {
+						effectEl.classList.add('text-decoration-line-through');
+					}
+					else {
+						console.log('Effect "' + effect + '" does not exist, specified for a target "' + effectTarget + '"');
+					}
+				}
+				else {
+					console.log('Effect specified for a target "' + effectTarget + '" that does not exist.');
+				}
+			}
+			else {
+				console.log('Effect specified, but no effect target.');
+			}
+		}
+		
+		/* Update state (i.e. adjust targeted form field values) */
+		let op = fa.dataset.fieldOp;
+		let fieldName = fa.dataset.fieldName;
+		let field = document.querySelector('[name=' + fieldName + ']');
+		if(field) {
+			if(field.dataset.listDelta !== undefined && op.endsWith('-string-list')) {
+				this.addListOp(field, op, fa.dataset.fieldValue, fa.dataset.fieldIndex);
+			}
+			else if(op === 'remove-from-string-list') {
+				field.value = field.value.split(',').filter(item => item !== fa.dataset.fieldValue).join(",");
+			}
+			else if(op === 'add-to-string-list') {
+				let currentList = field.value.split(',');
+				currentList.push(fa.dataset.fieldValue);
+				field.value = currentList.join(",");
+			}
+			else if(op === 'move-in-string-list') {
+				let currentList = field.value.split(',').filter(item => item !== fa.dataset.fieldValue);
+				currentList.splice(parseInt(fa.dataset.fieldIndex), 0, fa.dataset.fieldValue);
+				field.value = currentList.join(",");
+			}
+			else {
+				console.log('Unknown field op "' + op + '".');
+			}
+		}
+		else {
+			console.log('Unknown field "' + fieldName + '".');
+		}
 			
-			/* Deal with field actions */
-			let fieldActions = frm.querySelectorAll('[data-field-op]');
-			fieldActions.forEach((fa) => {
-				let trigger = fa.dataset.fieldTrigger; 
-				fa.addEventListener(trigger ? trigger : 'click', (evt) => {
-					
-					/* TODO one way at the moment */
-					fa.classList.add('d-none');
-					
-					/* Apply visual effect */
-					let effect = fa.dataset.fieldEffect;
-					if(effect) {
-						let effectTarget = fa.dataset.fieldEffectTarget;
-						if(effectTarget) {
-							let effectEl = document.getElementById(effectTarget);
-							if(effectEl) {
-								if(effect === 'hide') {
-									effectEl.classList.add('d-none');
-								}
-								else if(effect === 'strikethru') {
-									effectEl.classList.add('text-decoration-line-through');
-								}
-								else {
-									console.log('Effect "' + effect + '" does not exist, specified for a target "' + effectTarget + '"');
-								}
-							}
-							else {
-								console.log('Effect specified for a target "' + effectTarget + '" that does not exist.');
+		
+		evt.preventDefault();
+	}
+	
+	/* Records an operation on a data-list-delta field, instead of rewriting its whole value.
+	   See ListDelta for the format, items are encoded so they may contain new lines. The
+	   operations are kept until the server has accepted them, see clearListOps() */
+	addListOp(field, op, value, index) {
+		if(!field.ttbsListOps) {
+			field.ttbsListOps = [];
+		}
+		const item = encodeURIComponent(value);
+		if(op === 'add-to-string-list') {
+			field.ttbsListOps.push('+' + item);
+		}
+		else if(op === 'remove-from-string-list') {
+			field.ttbsListOps.push('-' + item);
+		}
+		else if(op === 'move-in-string-list') {
+			if(!/^\d+$/.test(index || '')) {
+				console.log('Invalid index "' + index + '" to move "' + value + '" to.');
+				return;
+			}
+			field.ttbsListOps.push('>' + index + ' ' + item);
+		}
+		else {
+			console.log('Unknown field op "' + op + '".');
+		}
+	}
+	
+	/* Submits the operations on each data-list-delta field in place of its value, see
+	   FormDataReceiver.DELTA. A list with no operations is unchanged, so submits nothing. */
+	addListDeltas(frm) {
+		frm.addEventListener('formdata', (evt) => {
+			frm.querySelectorAll('[data-list-delta]').forEach((field) => {
+				evt.formData.delete(field.name);
+				if(field.ttbsListOps && field.ttbsListOps.length > 0) {
+					evt.formData.set('_delta.' + field.name, field.ttbsListOps.join('\n'));
+				}
+			});
+		}, { signal: this.signal(frm) });
+	}
+	
+	/* Once a submit is accepted, the operations have been applied to the list, so
+	   must not be sent again */
+	clearListOps(root) {
+		this.within(root, '[data-list-delta]').forEach((field) => {
+			delete field.ttbsListOps;
+		});
+	}
+	
+	/* Drag and drop is delegated to the document, as a drop zone may be anywhere in the page */
+	addDropZones() {
+		document.addEventListener('drop', (evt) => {
+			const rz = this.findDropZone(evt);
+			if(rz) {
+				rz.ttbsDropZoneInput.files = evt.dataTransfer.files;
+				rz.classList.remove('border', 'border-2', 'p-3');
+				evt.preventDefault();
+			}
+		});
+		document.addEventListener('dragover', (evt) => {
+			const rz = this.findDropZone(evt);
+			if(rz) {
+				rz.classList.add('border', 'border-2', 'p-3');
+				evt.preventDefault();
+			}
+		});
+		document.addEventListener('dragleave', (evt) => {
+			const rz = this.findDropZone(evt);
+			if(rz) {
+				rz.classList.remove('border', 'border-2', 'p-3');
+			}
+		});
+	}
+	
+	findDropZone(evt) {
+		const rz = evt.target instanceof Element ? evt.target.closest('.drop-zone') : null;
+		return rz && rz.ttbsDropZoneInput ? rz : null;
+	}
+	
+	markDropZone(dz) {
+		let rz = document.getElementById(dz.dataset.dropzone);
+		if(rz) {
+			rz.classList.add('drop-zone');
+			rz.ttbsDropZoneInput = dz;
+		}
+	}
+	
+	addLazySections(frm, tabs) {
+		tabs.addEventListener('wa-tab-show', (evt) => {
+			const name = evt.detail.name;
+			const panel = tabs.querySelector(':scope > wa-tab-panel[name="' + CSS.escape(name) + '"]');
+			if(panel && panel.dataset.sectionLazy !== undefined) {
+				delete panel.dataset.sectionLazy;
+				const url = tabs.dataset.sectionUrl;
+				fetch(url + (url.includes('?') ? '&' : '?') + 'section=' + encodeURIComponent(name))
+					.then((rsp) => rsp.ok ? rsp.text() : Promise.reject('Status ' + rsp.status))
+					.then((html) => {
+						/* Initialised when observed, see mutated() */
+						panel.innerHTML = html;
+					})
+					.catch((err) => {
+						/* Try again next time the tab is shown */
+						panel.dataset.sectionLazy = '';
+						console.log('Failed to fetch section "' + name + '". ' + err);
+					});
+			}
+		}, { signal: this.signal(frm) });
+	}
+	
+	/* Submits the form in the background. The server either redirects when the form
+	   is valid, or responds with the JSON of Form.Patch.toJson() to show what has
+	   changed, usually errors. Any other response is shown as a normal submit would
+	   show it. Only if there is no response at all is the form submitted normally, as 
+	   the request cannot have been handled. A failure after that is reported with a
+	   'ttbs-submit-failed' event on the form, and the form is not submitted again. */
+	addPatchSubmit(frm) {
+		frm.addEventListener('submit', (evt) => {
+			evt.preventDefault();
+			const submitter = evt.submitter;
+			let responded = false;
+			fetch(frm.dataset.patchSubmit || frm.action, { method: 'POST', body: new FormData(frm, submitter) })
+				.then((rsp) => {
+					responded = true;
+					if(rsp.redirected) {
+						this.clearListOps(frm);
+						window.location = rsp.url;
+					}
+					else if(rsp.ok && (rsp.headers.get('Content-Type') || '').includes('json')) {
+						return rsp.json().then((patches) => {
+							this.applyPatches(frm, patches);
+							if(!frm.querySelector('.is-invalid')) {
+								this.clearListOps(frm);
 							}
-						}
-						else {
-							console.log('Effect specified, but no effect target.');
-						}
+						});
+					}
+					else {
+						return rsp.text().then((html) => this.showResponse(html));
 					}
-					
-					/* Update state (i.e. adjust targeted form field values) */
-					let op = fa.dataset.fieldOp;
-					let fieldName = fa.dataset.fieldName;
-					let field = document.querySelector('[name=' + fieldName + ']');
-					if(field) {
-						if(op === 'remove-from-string-list') {
-							field.value = field.value.split(',').filter(item => item !== fa.dataset.fieldValue).join(",");
-						}
-						else if(op === 'add-to-string-list') {
-							let currentList = field.value.split(',');
-							currentList.append(fa.dataset.fieldValue);
-							field.value = currentList.join(",");
-						}
-						else {
-							console.log('Unknown field op "' + op + '".');
-						}
+				})
+				.catch((err) => {
+					if(responded) {
+						console.log('Background submit failed. ' + err);
+						frm.dispatchEvent(new CustomEvent('ttbs-submit-failed', { bubbles: true, detail: { error: err } }));
 					}
 					else {
-						console.log('Unknown field "' + fieldName + '".');
+						console.log('Background submit got no response, submitting normally. ' + err);
+						this.submitNormally(frm, submitter);
 					}
-						
-					
-					evt.preventDefault();
 				});
+		}, { signal: this.signal(frm) });
+	}
+	
+	/* As HTMLFormElement.submit(), which does not go through the submit listeners again,
+	   but including the name and value of the button used to submit */
+	submitNormally(frm, submitter) {
+		if(submitter && submitter.name) {
+			const input = document.createElement('input');
+			input.type = 'hidden';
+			input.name = submitter.name;
+			input.value = submitter.value;
+			frm.append(input);
+		}
+		HTMLFormElement.prototype.submit.call(frm);
+	}
+	
+	/* Replaces the page with one the server responded with. Its scripts are not run, this
+	   script is already running, but its forms are initialised as if it had loaded */
+	showResponse(html) {
+		const doc = new DOMParser().parseFromString(html, 'text/html');
+		Array.from(this.forms.keys()).forEach((frm) => this.teardownForm(frm));
+		this.observer.disconnect();
+		document.replaceChild(document.adoptNode(doc.documentElement), document.documentElement);
+		this.observer.observe(document.documentElement, { childList: true, subtree: true });
+		this.findFormControls();
+	}
+	
+	/* Removes the fields that have not changed from their rendered value whenever the form's
+	   data is gathered, so for a normal submit, a background submit or live validation (which
+	   puts back the field it validates, see setControlValues()). The names of those that did change are added as a manifest, see FormDataReceiver.MANIFEST, so
+	   the server knows about changes that submit nothing, such as unchecking a checkbox. */
+	addPartialSubmit(frm) {
+		frm.addEventListener('formdata', (evt) => {
+			const changed = new Set();
+			const unchanged = new Set();
+			for(const el of frm.elements) {
+				if(el.name && !el.disabled && this.isFieldControl(el)) {
+					(this.isDirty(el) ? changed : unchanged).add(el.name);
+				}
+			}
+			unchanged.forEach((name) => {
+				if(!changed.has(name)) {
+					evt.formData.delete(name);
+				}
 			});
+			evt.formData.set('_fields', Array.from(changed).join(','));
+		}, { signal: this.signal(frm) });
+	}
+	
+	/* Hidden inputs are always submitted, as they may be changed without their default
+	   value being kept, and may not be fields at all (e.g. CSRF tokens) */
+	isFieldControl(el) {
+		if(el.tagName === 'SELECT' || el.tagName === 'TEXTAREA') {
+			return true;
+		}
+		return el.tagName === 'INPUT' && !['hidden', 'submit', 'button', 'image', 'reset'].includes(el.type);
+	}
+	
+	isDirty(el) {
+		if(el.type === 'checkbox' || el.type === 'radio') {
+			return el.checked !== el.defaultChecked;
+		}
+		else if(el.type === 'file') {
+			return el.files.length > 0;
+		}
+		else if(el.tagName === 'SELECT') {
+			const options = Array.from(el.options);
+			if(options.length === 0) {
+				return false;
+			}
+			else if(el.multiple) {
+				return options.some((opt) => opt.selected !== opt.defaultSelected);
+			}
+			/* With no default, a single select starts on its first option */
+			const defaultIndex = Math.max(0, options.findIndex((opt) => opt.defaultSelected));
+			return el.selectedIndex !== defaultIndex;
+		}
+		else {
+			return el.value !== el.defaultValue;
+		}
+	}
+	
+	/* Replaces each element by ID. The replacements are set up as if loaded with the page 
+	   when observed, see mutated() */
+	applyPatches(frm, patches) {
+		patches.forEach((patch) => {
+			const el = document.getElementById(patch.id);
+			if(el) {
+				const tmpl = document.createElement('template');
+				tmpl.innerHTML = patch.html.trim();
+				const replacement = tmpl.content.firstElementChild;
+				/* The list was rendered with the server's value, which already includes
+				   any operations it accepted */
+				this.clearListOps(el);
+				el.replaceWith(replacement);
+			}
+			else {
+				console.log('No element "' + patch.id + '" to patch.');
+			}
 		});
+	}
+	
+	/* May be called more than once for the same elements, so everything here must be idempotent */
+	initialiseFragment(frm, root) {
+		/* The fragment was rendered with the server's values, so bring any groups in it
+		   up to date with what may have been changed since */
+		if(frm.ttbsDependencies) {
+			frm.ttbsDependencies.groups.forEach((group) => {
+				const el = document.getElementById(group.id);
+				if(el && root.contains(el) && this.checkState(frm, group)) {
+					this.dependencyChanged(frm, group.name);
+				}
+			});
+		}
 		
-        return true;
-    }
+		this.within(root, '[data-live-validate]').forEach((input) => {
+			this.addLiveValidation(frm, input);
+		});
+		this.within(root, '[data-dropzone]').forEach((dz) => {
+			this.markDropZone(dz);
+		});
+		this.within(root, '[data-field-trigger]').forEach((fa) => {
+			this.addFieldOpTrigger(frm, fa.dataset.fieldTrigger);
+		});
+		this.within(root, 'template').forEach((t) => {
+			this.addTemplate(t);
+		});
+	}
+	
+	within(root, selector) {
+		const els = Array.from(root.querySelectorAll(selector));
+		if(root.matches(selector)) {
+			els.unshift(root);
+		}
+		return els;
+	}
+	
+	/* Posts the form to the URL in data-live-validate, with the name of the field being
+	   validated in '_field', and expects the JSON of FieldFeedback.toJson() back. Input is
+	   debounced, and while a request is in flight, further changes are coalesced into a
+	   single follow up request. */
+	addLiveValidation(frm, input) {
+		const signal = this.signal(frm);
+		if(input.ttbsLiveValidation === signal) {
+			return;
+		}
+		input.ttbsLiveValidation = signal;
+		const url = input.dataset.liveValidate;
+		const delay = parseInt(input.dataset.liveValidateDelay || '300');
+		let timer = null;
+		let inFlight = false;
+		let again = false;
+		
+		const send = () => {
+			if(signal.aborted) {
+				return;
+			}
+			if(inFlight) {
+				again = true;
+				return;
+			}
+			inFlight = true;
+			const data = new URLSearchParams(new FormData(frm));
+			this.setControlValues(frm, data, input.name);
+			data.set('_field', input.name);
+			fetch(url, { method: 'POST', body: data })
+				.then((rsp) => rsp.ok ? rsp.json() : null)
+				.then((feedback) => {
+					/* Stale if the value changed while this request was in flight */
+					if(feedback && !again) {
+						this.showFeedback(input, feedback);
+					}
+				})
+				.catch((err) => {
+					console.log('Live validation of "' + input.name + '" failed. ' + err);
+				})
+				.finally(() => {
+					inFlight = false;
+					if(again) {
+						again = false;
+						send();
+					}
+				});
+		};
+		
+		input.addEventListener('input', (evt) => {
+			clearTimeout(timer);
+			timer = setTimeout(send, delay);
+		}, { signal: signal });
+		input.addEventListener('change', (evt) => {
+			clearTimeout(timer);
+			send();
+		}, { signal: signal });
+		signal.addEventListener('abort', () => {
+			clearTimeout(timer);
+		});
+	}
+	
+	/* The field being validated must always be posted, even when partial submit removed it
+	   because it has been changed back to its rendered value. Files and list deltas are left
+	   as gathered. */
+	setControlValues(frm, data, name) {
+		const controls = this.controls(frm, name);
+		if(controls.length === 0 || controls[0].type === 'file' || controls[0].dataset.listDelta !== undefined) {
+			return;
+		}
+		data.delete(name);
+		controls.forEach((el) => {
+			if(el.disabled) {
+				return;
+			}
+			if(el.type === 'checkbox' || el.type === 'radio') {
+				if(el.checked) {
+					data.append(name, el.value);
+				}
+			}
+			else if(el.tagName === 'SELECT') {
+				Array.from(el.selectedOptions).forEach((opt) => data.append(name, opt.value));
+			}
+			else {
+				data.append(name, el.value);
+			}
+		});
+	}
+	
+	showFeedback(input, feedback) {
+		input.classList.remove('is-valid', 'is-invalid');
+		
+		let feedbackEl = input.liveFeedback;
+		if(!feedbackEl) {
+			/* Re-use the feedback rendered with the field, if there is any */
+			let holder = input.parentElement;
+			while(holder && !holder.querySelector(':scope > .invalid-feedback, :scope > .valid-feedback')) {
+				holder = holder.tagName === 'FORM' ? null : holder.parentElement;
+			}
+			feedbackEl = holder ? holder.querySelector(':scope > .invalid-feedback, :scope > .valid-feedback') : null;
+			if(!feedbackEl) {
+				feedbackEl = document.createElement('div');
+				(input.closest('.input-group, .form-floating') || input).after(feedbackEl);
+			}
+			input.liveFeedback = feedbackEl;
+		}
+		
+		feedbackEl.classList.remove('valid-feedback', 'invalid-feedback', 'd-none');
+		if(feedback.state === 'invalid') {
+			input.classList.add('is-invalid');
+			feedbackEl.classList.add('invalid-feedback');
+			feedbackEl.innerHTML = feedback.message || '';
+		}
+		else if(feedback.state === 'valid' && feedback.message) {
+			input.classList.add('is-valid');
+			feedbackEl.classList.add('valid-feedback');
+			feedbackEl.innerHTML = feedback.message;
+		}
+		else {
+			feedbackEl.classList.add('d-none');
+			feedbackEl.innerHTML = '';
+		}
+	}
+	
+	/* Each template only ever gets its first row once, even if its form is initialised again */
+	addTemplate(templ) {
+		if(!templ.ttbsTemplated) {
+			templ.ttbsTemplated = true;
+			this.addTemplatedRow(templ);
+		}
+	}
 	
 	addTemplatedRow(templ) {
 	    //fileIndex++;
@@ -176,59 +718,61 @@ class TinyTemplateBoostrapForms {
 		*/
 	}
 	
-	findFieldset(el) {
-		while(el) {
-			if(el instanceof RadioNodeList) {
-				el = el[0];	
-			}
-			if(el.tagName === 'FIELDSET')
-				return el;
-			else if(el.tagName === 'FORM')
-				return null;
-			else
-				el = el.parentElement;
+	/* Shows or hides a group given the current values of the inputs it depends on,
+	   returning whether it changed. A group is shown if any dependency matches, and
+	   only if the input depended on is not itself hidden. */
+	checkState(frm, group) {
+		const el = document.getElementById(group.id);
+		if(!el) {
+			return false;
 		}
-		return false;
+		const beVisible = group.depends.some((dep) => 
+			!this.isDependencyHidden(frm, dep.name) && dep.values.includes(this.dependencyValue(frm, dep.name)) !== dep.negate);
+		const isVisible = !el.classList.contains('d-none');
+		if(beVisible === isVisible) {
+			return false;
+		}
+		
+		el.classList.toggle('d-none', !beVisible);
+		
+		/* Stop client side validation by making any non-disabled input
+		   fields as disabled while they are hidden.
+		   
+		   If the become visible again, the disabled attribute will be 
+		   removed */
+		this.controls(frm, group.name).forEach((input) => {
+			if(beVisible) {
+				if(input.dataset.hiddenDepends === 'true') {
+					delete input.dataset.hiddenDepends;
+					input.disabled = false;
+				}
+			}
+			else if(!input.disabled) {
+				input.dataset.hiddenDepends = 'true';
+				input.disabled = true;
+			}
+		});
+		return true;
 	}
 	
-	checkState(el, dep, depValues, input, fieldset, negate) {
-		let inputVal = input.value;
-		let beVisible = depValues.includes(inputVal);
-		if(negate)
-			beVisible = !beVisible;
-		let isVisible = !el.classList.contains('d-none');
-		
-		if(beVisible && !isVisible) {
-			el.classList.remove('d-none');
-			
-			/* Re-enabled any fields that were disabled when being hidden */
-			let deps = el.querySelectorAll('input');
-			deps.forEach((el) => {
-				if(el.dataset.hiddenDepends === 'true') {
-					delete  el.dataset.hiddenDepends;
-					el.disabled = false;
-				}	
-			});
-		}
-		else if(!beVisible && isVisible) {
-			el.classList.add('d-none');
-			
-			/* Stop client side validation by making any non-disabled input
-			   fields as disabled while they are hidden.
-			   
-			   If the become visible again, the disabled attribute will be 
-			   removed */
-			    
-			let deps = el.querySelectorAll('input');
-			deps.forEach((el) => {
-				if(!el.disabled) {
-					el.dataset.hiddenDepends = 'true';
-					el.disabled = true;
-				}	
-			});
-			
+	isDependencyHidden(frm, name) {
+		const group = frm.ttbsDependencies.groups.get(name);
+		const el = group ? document.getElementById(group.id) : null;
+		return el ? el.classList.contains('d-none') : false;
+	}
+	
+	dependencyValue(frm, name) {
+		const input = frm.elements.namedItem(name);
+		return input ? input.value : null;
+	}
+	
+	controls(frm, name) {
+		const input = frm.elements.namedItem(name);
+		if(!input) {
+			return [];
 		}
+		return input instanceof RadioNodeList ? Array.from(input) : [input];
 	}
 }
 
-new TinyTemplateBoostrapForms();
\ No newline at end of file
+window.ttbs = new TinyTemplateBoostrapForms();
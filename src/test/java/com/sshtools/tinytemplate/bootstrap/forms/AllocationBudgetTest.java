@@ -0,0 +1,179 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sshtools.tinytemplate.Templates.TemplateProcessor;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.FormDataReceiver;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.RangeValidator;
+
+/**
+ * Guards against regressions in the number of bytes allocated to render and
+ * receive representative forms, and to convert values. Allocation is measured
+ * on the current thread using <code>com.sun.management.ThreadMXBean</code>, after
+ * warming up so the JIT has done its work. The budgets are upper bounds with
+ * headroom, intended to catch things like per-field work turning quadratic
+ * or a cache no longer being hit, not small changes.
+ * <p>
+ * The management API is used via method handles as this module does not
+ * read <code>java.management</code>. If it is not available, or the JVM does not
+ * support measuring thread allocation, the tests are skipped.
+ */
+class AllocationBudgetTest {
+
+	private final static int WARMUP = 2000;
+	private final static int ITERATIONS = 200;
+	private final static int SAMPLES = 5;
+
+	private static MethodHandle allocatedBytes;
+
+	@BeforeAll
+	static void setup() {
+		try {
+			var bean = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+			var itf = Class.forName("com.sun.management.ThreadMXBean");
+			assumeTrue(itf.isInstance(bean), "No com.sun.management.ThreadMXBean");
+			assumeTrue((Boolean)itf.getMethod("isThreadAllocatedMemorySupported").invoke(bean), "Thread allocation measurement not supported");
+			itf.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(bean, true);
+			allocatedBytes = MethodHandles.publicLookup().
+					findVirtual(itf, "getCurrentThreadAllocatedBytes", MethodType.methodType(long.class)).
+					bindTo(bean);
+		}
+		catch(ReflectiveOperationException | LinkageError e) {
+			assumeTrue(false, "Management API not available. " + e.getMessage());
+		}
+	}
+
+	@Test
+	void renderSmallForm() {
+		var form = textForm(10);
+		var processor = new TemplateProcessor.Builder().build();
+		assertBudget("render 10 fields", 2 * 1024 * 1024, () -> processor.process(form.model()));
+	}
+
+	@Test
+	void renderLargeForm() {
+		var form = textForm(100);
+		var processor = new TemplateProcessor.Builder().build();
+		assertBudget("render 100 fields", 20 * 1024 * 1024, () -> processor.process(form.model()));
+	}
+
+	@Test
+	void receiveValid() {
+		var names = new ArrayList<String>();
+		var form = numberForm(10, names);
+		var receiver = post(names, "50");
+		assertBudget("receive valid", 16 * 1024, () -> {
+			if(!form.receive(receiver).ok())
+				throw new IllegalStateException("Expected valid.");
+		});
+	}
+
+	@Test
+	void receiveInvalid() {
+		var names = new ArrayList<String>();
+		var form = numberForm(10, names);
+		var receiver = post(names.subList(0, 5), "500");
+		assertBudget("receive invalid", 32 * 1024, () -> {
+			if(form.receive(receiver).ok())
+				throw new IllegalStateException("Expected invalid.");
+		});
+	}
+
+	@Test
+	void valueOfInteger() {
+		var field = Form.Builder.typeless().field(f -> f.name("number").value(27)).build().field("number");
+		var framework = DefaultFramework.get();
+		assertBudget("valueOf Integer", 256, () -> Field.valueOf(framework, field, "1234"));
+	}
+
+	@Test
+	void valueOfString() {
+		var field = Form.Builder.typeless().field(f -> f.name("text").value("Joe")).build().field("text");
+		var framework = DefaultFramework.get();
+		assertBudget("valueOf String", 128, () -> Field.valueOf(framework, field, "Joe Bloggs"));
+	}
+
+	@Test
+	void valueOfList() {
+		var field = Form.Builder.typeless().field(f -> f.name("list").value(List.of("red", "green"))).build().field("list");
+		var framework = DefaultFramework.get();
+		assertBudget("valueOf List", 4096, () -> Field.valueOf(framework, field, "red green blue"));
+	}
+
+	private static Form<Void> textForm(int fields) {
+		var bldr = Form.Builder.typeless();
+		for(int i = 0; i < fields; i++) {
+			var name = "field" + i;
+			bldr.field(f -> f.name(name).help("Help for " + name).value("Value"));
+		}
+		return bldr.build();
+	}
+
+	private static Form<Void> numberForm(int fields, List<String> names) {
+		var bldr = Form.Builder.typeless();
+		for(int i = 0; i < fields; i++) {
+			var name = "number" + i;
+			names.add(name);
+			bldr.<Integer>field(f -> f.
+				name(name).
+				type(Integer.class).
+				required().
+				attr("min", "0").
+				attr("max", "100").
+				validator(new RangeValidator<>()));
+		}
+		return bldr.build();
+	}
+
+	private static Consumer<FormDataReceiver> post(List<String> names, String value) {
+		return r -> {
+			for(var name : names) {
+				r.field(r.field(name), value);
+			}
+		};
+	}
+
+	private static void assertBudget(String name, long budget, Runnable op) {
+		for(int i = 0; i < WARMUP; i++) {
+			op.run();
+		}
+
+		/* Take the lowest of several samples, as the odd sample may include allocation
+		 * by the JVM itself, such as JIT compilation on this thread */
+		var lowest = Long.MAX_VALUE;
+		for(int s = 0; s < SAMPLES; s++) {
+			var before = allocated();
+			for(int i = 0; i < ITERATIONS; i++) {
+				op.run();
+			}
+			lowest = Math.min(lowest, ( allocated() - before ) / ITERATIONS);
+		}
+
+		var perOp = lowest;
+		assertTrue(perOp <= budget, () -> MessageFormat.format("{0} allocated {1} bytes per operation, budget is {2}.", name, perOp, budget));
+	}
+
+	private static long allocated() {
+		try {
+			return (long)allocatedBytes.invokeExact();
+		}
+		catch(RuntimeException | Error e) {
+			throw e;
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Constraints.Violation;
+
+class ConstraintsTest {
+
+	@Test
+	void noneWithoutConstraints() {
+		var constraints = Constraints.compile("f", Map.of("class", "x"), Optional.empty(), InputType.TEXT);
+
+		assertSame(Constraints.NONE, constraints);
+		assertTrue(constraints.empty());
+		assertEquals(Optional.empty(), constraints.check("anything"));
+	}
+
+	@Test
+	void checksNumbers() {
+		var constraints = Constraints.compile("f", Map.of("min", "10", "max", "20", "step", "5"), Optional.empty(), InputType.NUMBER);
+
+		assertEquals(Optional.empty(), constraints.check(15));
+		assertEquals(Optional.of(Violation.MIN), constraints.check(5));
+		assertEquals(Optional.of(Violation.MAX), constraints.check(25.0));
+		assertEquals(Optional.of(Violation.STEP), constraints.check(12));
+		assertEquals("10", constraints.limit(Violation.MIN));
+	}
+
+	@Test
+	void ignoresNonNumericLimits() {
+		var constraints = Constraints.compile("f", Map.of("min", "2024-01-01"), Optional.empty(), InputType.DATE);
+
+		assertTrue(constraints.min().isEmpty());
+		assertEquals("2024-01-01", constraints.attrs().get("min"));
+	}
+
+	@Test
+	void checksText() {
+		var constraints = Constraints.compile("f", Map.of("minlength", "2", "maxlength", "4"), Optional.of("[a-z]+"), InputType.TEXT);
+
+		assertEquals(Optional.empty(), constraints.check("abc"));
+		assertEquals(Optional.empty(), constraints.check(""));
+		assertEquals(Optional.of(Violation.MIN_LENGTH), constraints.check("a"));
+		assertEquals(Optional.of(Violation.MAX_LENGTH), constraints.check("abcde"));
+		assertEquals(Optional.of(Violation.PATTERN), constraints.check("ab1"));
+	}
+
+	@Test
+	void patternMatchesWholeValue() {
+		var constraints = Constraints.compile("f", Map.of(), Optional.of("a|b"), InputType.TEXT);
+
+		assertEquals(Optional.empty(), constraints.check("b"));
+		assertEquals(Optional.of(Violation.PATTERN), constraints.check("ab"));
+	}
+
+	@Test
+	void invalidPatternIsNotEnforced() {
+		var constraints = Constraints.compile("f", Map.of(), Optional.of("[a-z"), InputType.TEXT);
+
+		assertTrue(constraints.pattern().isEmpty());
+		assertEquals("[a-z", constraints.attrs().get("pattern"));
+		assertEquals(Optional.empty(), constraints.check("123"));
+	}
+
+	@Test
+	void checksEmailAndUrl() {
+		var email = Constraints.compile("f", Map.of(), Optional.empty(), InputType.EMAIL);
+		assertEquals(Optional.empty(), email.check("joe@example.com"));
+		assertEquals(Optional.of(Violation.EMAIL), email.check("joe"));
+
+		var url = Constraints.compile("f", Map.of(), Optional.empty(), InputType.URL);
+		assertEquals(Optional.empty(), url.check("https://example.com"));
+		assertEquals(Optional.empty(), url.check(URI.create("relative")));
+		assertEquals(Optional.of(Violation.URL), url.check("relative"));
+	}
+
+	@Test
+	void checksEachElement() {
+		var constraints = Constraints.compile("f", Map.of("max", "10"), Optional.empty(), InputType.NUMBER);
+
+		assertEquals(Optional.empty(), constraints.check(List.of(1, 2)));
+		assertEquals(Optional.of(Violation.MAX), constraints.check(List.of(1, 20)));
+		assertEquals(Optional.of(Violation.MAX), constraints.check(new int[] { 1, 20 }));
+	}
+
+	@Test
+	void formatsAttributes() {
+		assertEquals("1.5", Constraints.toAttr(1.50d));
+		assertEquals("2", Constraints.toAttr(2.0f));
+		assertEquals("10", Constraints.toAttr(new BigDecimal("10.00")));
+		assertEquals("7", Constraints.toAttr(7L));
+	}
+}
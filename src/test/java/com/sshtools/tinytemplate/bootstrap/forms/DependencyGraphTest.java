@@ -0,0 +1,137 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Field.FieldDependency;
+
+class DependencyGraphTest {
+
+	@Test
+	void ranksTargetsBeforeDependents() {
+		var form = Form.Builder.typeless().
+				field(f -> f.name("c").value("").depends(new FieldDependency("b", "y"))).
+				field(f -> f.name("b").value("").depends(new FieldDependency("a", "x"))).
+				field(f -> f.name("a").value("")).
+				field(f -> f.name("d").value("")).
+				build();
+		var graph = graph(form, "c", "b", "a", "d");
+
+		assertEquals(List.of("a", "b", "c", "d"), graph.order().stream().map(Field::resolveName).toList());
+		assertTrue(graph.rank(form.field("a")) < graph.rank(form.field("b")));
+		assertTrue(graph.rank(form.field("b")) < graph.rank(form.field("c")));
+		assertFalse(graph.empty());
+	}
+
+	@Test
+	void keepsDeclarationOrderWithoutDependencies() {
+		var form = Form.Builder.typeless().
+				field(f -> f.name("z").value("")).
+				field(f -> f.name("y").value("")).
+				build();
+		var graph = graph(form, "z", "y");
+
+		assertTrue(graph.empty());
+		assertEquals(List.of("z", "y"), graph.order().stream().map(Field::resolveName).toList());
+	}
+
+	@Test
+	void rejectsCycle() {
+		var bldr = Form.Builder.typeless().
+				field(f -> f.name("a").value("").depends(new FieldDependency("b", "x"))).
+				field(f -> f.name("b").value("").depends(new FieldDependency("a", "y")));
+
+		var ise = assertThrows(IllegalStateException.class, bldr::build);
+		assertEquals("Field dependencies contain a cycle, a -> b -> a.", ise.getMessage());
+	}
+
+	@Test
+	void rejectsMissingTarget() {
+		var bldr = Form.Builder.typeless().
+				field(f -> f.name("a").value("").depends(new FieldDependency("nope", "x")));
+
+		var ise = assertThrows(IllegalStateException.class, bldr::build);
+		assertEquals("Field 'a' depends on 'nope', which is not in the form.", ise.getMessage());
+	}
+
+	@Test
+	void dependentsAreTransitive() {
+		var form = Form.Builder.typeless().
+				field(f -> f.name("a").value("")).
+				field(f -> f.name("b").value("").depends(new FieldDependency("a", "x"))).
+				field(f -> f.name("c").value("").depends(new FieldDependency("b", "y"))).
+				field(f -> f.name("d").value("")).
+				build();
+		var graph = graph(form, "a", "b", "c", "d");
+
+		assertEquals(Set.of(form.field("b"), form.field("c")), graph.dependents(form.field("a")));
+		assertEquals(Set.of(form.field("c")), graph.dependents(form.field("b")));
+		assertTrue(graph.dependents(form.field("c")).isEmpty());
+		assertTrue(graph.dependents(form.field("d")).isEmpty());
+	}
+
+	@Test
+	void hiddenWhenTargetHidden() {
+		var form = Form.Builder.typeless().
+				field(f -> f.name("a").value("")).
+				field(f -> f.name("b").value("").depends(new FieldDependency("a", "x"))).
+				field(f -> f.name("c").value("").depends(new FieldDependency("b", "y"))).
+				field(f -> f.name("d").value("").depends(new FieldDependency("a", true, new Object[] { "x" }))).
+				build();
+		var graph = graph(form, "a", "b", "c", "d");
+
+		var shown = graph.evaluate(values(Map.of("a", "x", "b", "y")));
+		assertTrue(shown.visible(form.field("b")));
+		assertTrue(shown.visible(form.field("c")));
+		assertFalse(shown.visible(form.field("d")));
+
+		var hidden = graph.evaluate(values(Map.of("a", "z", "b", "y")));
+		assertFalse(hidden.visible(form.field("b")));
+		assertFalse(hidden.visible(form.field("c")));
+		assertTrue(hidden.visible(form.field("d")));
+	}
+
+	@Test
+	void receiveSkipsHiddenFieldsWithoutValidating() {
+		var extra = new AtomicReference<Integer>(1);
+		var form = Form.Builder.typeless().
+				<Integer>field(f -> f.name("extra").type(Integer.class).value(extra::get).update(extra::set).depends(new FieldDependency("mode", "b"))).
+				field(f -> f.name("mode").value("a")).
+				build();
+
+		form.receive(r -> {
+			r.parameter("extra", "not a number");
+			r.parameter("mode", "a");
+		}, false);
+		assertEquals(1, extra.get());
+
+		form.receive(r -> {
+			r.parameter("extra", "5");
+			r.parameter("mode", "b");
+		}, false);
+		assertEquals(5, extra.get());
+	}
+
+	private static DependencyGraph<Void> graph(Form<Void> form, String... names) {
+		var fields = new LinkedHashMap<String, Field<Void, ?>>();
+		for(var name : names) {
+			fields.put(name, form.field(name));
+		}
+		return new DependencyGraph<>(fields);
+	}
+
+	private static Function<Field<Void, ?>, Object> values(Map<String, String> values) {
+		return f -> values.get(f.resolveName());
+	}
+}
@@ -0,0 +1,139 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Field.FieldDependency;
+import com.sshtools.tinytemplate.bootstrap.forms.ListDelta.Kind;
+import com.sshtools.tinytemplate.bootstrap.forms.ListDelta.Op;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.ValidationException;
+
+class ListDeltaTest {
+
+	@SuppressWarnings("unchecked")
+	private final static Class<List<String>> LIST = (Class<List<String>>)(Class<?>)List.class;
+
+	@Test
+	void parsesOperations() {
+		var delta = ListDelta.parse("+d\r\n-a\n\n>0 c", Function.identity());
+
+		assertEquals(List.of(
+				new Op<>(Kind.ADD, "d", -1),
+				new Op<>(Kind.REMOVE, "a", -1),
+				new Op<>(Kind.MOVE, "c", 0)), delta.ops());
+		assertEquals(List.of("d"), delta.added());
+	}
+
+	@Test
+	void parsesEmpty() {
+		assertTrue(ListDelta.parse("", Function.identity()).empty());
+	}
+
+	@Test
+	void decodesItems() {
+		var delta = ListDelta.parse("+a%0Ab\n-c+d\n>1 e%20f", Function.identity());
+
+		assertEquals(List.of("a\nb", "c+d", "e f"), delta.ops().stream().map(Op::item).toList());
+	}
+
+	@Test
+	void convertsItems() {
+		var delta = ListDelta.parse("+1\n>0 2", Integer::valueOf);
+
+		assertEquals(List.of(1, 2), delta.ops().stream().map(Op::item).toList());
+	}
+
+	@Test
+	void rejectsInvalidOperations() {
+		for(var ops : new String[] { "*a", ">1", ">NaN a", ">-1 a", "+%zz" }) {
+			assertThrows(IllegalArgumentException.class, () -> ListDelta.parse(ops, Function.identity()), ops);
+		}
+	}
+
+	@Test
+	void appliesToCopy() {
+		var current = List.of("a", "b", "c");
+		var delta = ListDelta.parse("+d\n-a\n>0 c", Function.identity());
+
+		assertEquals(List.of("c", "b", "d"), delta.apply(current));
+		assertEquals(List.of("a", "b", "c"), current);
+	}
+
+	@Test
+	void appliesLeniently() {
+		var delta = ListDelta.parse("-x\n>0 y\n>99 a", Function.identity());
+
+		assertEquals(List.of("b", "a"), delta.apply(List.of("a", "b")));
+		assertEquals(List.of(), delta.apply(null));
+	}
+
+	@Test
+	void receivesDeltaWithValue() {
+		var list = new ArrayList<String>(List.of("a"));
+		var deltas = new ArrayList<ListDelta<String>>();
+		var form = listUpdateForm(list, deltas);
+
+		var results = form.receive(r -> r.parameter(Form.FormDataReceiver.DELTA + "items", "+b"));
+
+		assertTrue(results.ok());
+		assertEquals(1, deltas.size());
+		assertEquals(List.of("a", "b"), results.value("items"));
+		assertEquals(List.of("a", "b"), results.change(form.field("items")).get().value());
+	}
+
+	@Test
+	void validatesDeltaWithValue() {
+		var list = new ArrayList<String>(List.of("a"));
+		var deltas = new ArrayList<ListDelta<String>>();
+		var form = listUpdateForm(list, deltas);
+
+		assertFalse(form.receive(r -> r.parameter(Form.FormDataReceiver.DELTA + "items", "-a")).ok());
+		assertFalse(form.receive(r -> r.parameter(Form.FormDataReceiver.DELTA + "items", "+b\n+c")).ok());
+		assertTrue(deltas.isEmpty());
+	}
+
+	@Test
+	void rejectsDeltaWithoutValueThatNeedsOne() {
+		assertThrows(IllegalStateException.class, () -> Form.Builder.typeless().
+				<List<String>>field(f -> f.name("items").type(LIST).required().listUpdate(d -> {})).
+				build());
+		assertThrows(IllegalStateException.class, () -> Form.Builder.typeless().
+				<List<String>>field(f -> f.name("items").type(LIST).listUpdate(d -> {})).
+				field(f -> f.name("other").value("").depends(new FieldDependency("items", "a"))).
+				build());
+	}
+
+	@Test
+	void malformedDeltaIsFieldError() {
+		var form = listUpdateForm(new ArrayList<>(), new ArrayList<>());
+
+		var results = form.receive(r -> r.parameter(Form.FormDataReceiver.DELTA + "items", ">NaN a"));
+
+		assertEquals("items", results.results().get(0).field().resolveName());
+	}
+
+	private static Form<Void> listUpdateForm(List<String> list, List<ListDelta<String>> deltas) {
+		return Form.Builder.typeless().
+				<List<String>>field(f -> f.
+					name("items").
+					type(LIST).
+					itemType(String.class).
+					required().
+					value(() -> list).
+					validator((fld, val) -> {
+						if(val.size() > 2) {
+							throw new ValidationException(fld, "Too many.");
+						}
+					}).
+					listUpdate((ListDelta<String> d) -> deltas.add(d))).
+				build();
+	}
+}
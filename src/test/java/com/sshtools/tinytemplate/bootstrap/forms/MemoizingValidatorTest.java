@@ -0,0 +1,117 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.MemoizingValidator;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.MemoizingValidator.Stats;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.ValidationException;
+import com.sshtools.tinytemplate.bootstrap.forms.Validation.Validator;
+
+class MemoizingValidatorTest {
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private final Validator<String> taken = (field, value) -> {
+		calls.incrementAndGet();
+		if(value.equals("taken")) {
+			throw new ValidationException(field, "Already taken.");
+		}
+	};
+
+	@Test
+	void remembersOutcomes() {
+		var validator = Validation.memoize(taken);
+		var field = field();
+
+		assertTrue(validator.test(field, "free").isEmpty());
+		assertTrue(validator.test(field, "free").isEmpty());
+		assertTrue(validator.test(field, "taken").isPresent());
+		assertTrue(validator.test(field, "taken").isPresent());
+
+		assertEquals(2, calls.get());
+		assertEquals(new Stats(2, 2, 0, 2), validator.stats());
+	}
+
+	@Test
+	void normalizesKeys() {
+		var validator = new MemoizingValidator.Builder<>(taken).normalizer(String::trim).build();
+		var field = field();
+
+		validator.test(field, "free");
+		validator.test(field, " free ");
+
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void expiresAfterTtl() throws InterruptedException {
+		var validator = new MemoizingValidator.Builder<>(taken).ttl(Duration.ofMillis(20)).build();
+		var field = field();
+
+		validator.test(field, "free");
+		Thread.sleep(50);
+		validator.test(field, "free");
+
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() {
+		var validator = new MemoizingValidator.Builder<>(taken).maximumSize(2).build();
+		var field = field();
+
+		validator.test(field, "a");
+		validator.test(field, "b");
+		validator.test(field, "a");
+		validator.test(field, "c");
+		validator.test(field, "a");
+		validator.test(field, "b");
+
+		assertEquals(4, calls.get());
+		assertEquals(2, validator.stats().evictions());
+	}
+
+	@Test
+	void failureIsForFieldInstance() {
+		var validator = Validation.memoize(taken);
+		var first = field();
+		var second = field();
+
+		var firstFailure = validator.test(first, "taken").get();
+		var secondFailure = validator.test(second, "taken").get();
+
+		assertEquals(1, calls.get());
+		assertSame(first, firstFailure.field());
+		assertSame(second, secondFailure.field());
+		assertEquals(firstFailure.text(), secondFailure.text());
+	}
+
+	@Test
+	void neverCachesUnexpectedExceptions() {
+		var validator = Validation.<String>memoize((field, value) -> {
+			calls.incrementAndGet();
+			throw new IllegalStateException("Service unavailable.");
+		});
+		var field = field();
+
+		assertThrows(IllegalStateException.class, () -> validator.test(field, "free"));
+		assertThrows(IllegalStateException.class, () -> validator.test(field, "free"));
+
+		assertEquals(2, calls.get());
+		assertEquals(0, validator.stats().size());
+	}
+
+	/* Each call is a new form, so a new instance of a field with the same name */
+	@SuppressWarnings("unchecked")
+	private static Field<String, ?> field() {
+		return (Field<String, ?>)(Field<?, ?>)Form.Builder.typeless().field(f -> f.name("username").value("")).build().field("username");
+	}
+}
@@ -0,0 +1,97 @@
+package com.sshtools.tinytemplate.bootstrap.forms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.sshtools.tinytemplate.bootstrap.forms.Field.FieldDependency;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.FormDataReceiver;
+import com.sshtools.tinytemplate.bootstrap.forms.Form.ValidationResult;
+
+class PartialReceiveTest {
+
+	private final AtomicReference<String> name = new AtomicReference<>("Joe");
+	private final AtomicReference<Integer> age = new AtomicReference<>(20);
+	private final AtomicReference<Boolean> subscribe = new AtomicReference<>(true);
+	private final AtomicReference<String> mode = new AtomicReference<>("a");
+	private final AtomicReference<String> extra = new AtomicReference<>("");
+	private final AtomicInteger nameValidations = new AtomicInteger();
+
+	@Test
+	void receivesOnlyFieldsInManifest() {
+		var form = form();
+
+		var results = form.receivePartial(r -> {
+			r.parameter(FormDataReceiver.MANIFEST, "age");
+			r.parameter("age", "30");
+		});
+
+		assertTrue(results.ok());
+		assertEquals(30, age.get());
+		assertEquals("Joe", name.get());
+		assertEquals(0, nameValidations.get());
+		assertEquals(List.of("age"), results.changes().stream().map(c -> c.field().resolveName()).toList());
+	}
+
+	@Test
+	void receivesManifestFieldNotSubmitted() {
+		var form = form();
+
+		var results = form.receivePartial(r -> r.parameter(FormDataReceiver.MANIFEST, "subscribe"));
+
+		assertTrue(results.ok());
+		assertFalse(subscribe.get());
+	}
+
+	@Test
+	void requiredFieldNotSubmittedFailsOnlyWhenEmpty() {
+		var form = form();
+		name.set("");
+
+		var results = form.receivePartial(r -> {
+			r.parameter(FormDataReceiver.MANIFEST, "age");
+			r.parameter("age", "30");
+		});
+
+		assertEquals(List.of("name"), names(results.results()));
+		assertEquals(20, age.get());
+	}
+
+	@Test
+	void dependenciesUseCurrentValues() {
+		var form = form();
+
+		assertTrue(form.receivePartial(r -> r.parameter(FormDataReceiver.MANIFEST, "")).ok());
+
+		mode.set("b");
+		assertEquals(List.of("extra"), names(form.receivePartial(r -> r.parameter(FormDataReceiver.MANIFEST, "")).results()));
+	}
+
+	@Test
+	void rejectsUnknownFieldInManifest() {
+		var form = form();
+
+		assertThrows(IllegalArgumentException.class, () -> form.receivePartial(r -> r.parameter(FormDataReceiver.MANIFEST, "age,nope")));
+	}
+
+	private Form<Void> form() {
+		return Form.Builder.typeless().
+				<String>field(f -> f.name("name").required().value(name::get).update(name::set).validator((fld, val) -> nameValidations.incrementAndGet())).
+				<Integer>field(f -> f.name("age").type(Integer.class).value(age::get).update(age::set)).
+				<Boolean>field(f -> f.name("subscribe").type(Boolean.class).input(InputType.CHECKBOX).value(subscribe::get).update(subscribe::set)).
+				<String>field(f -> f.name("mode").value(mode::get).update(mode::set)).
+				<String>field(f -> f.name("extra").required().value(extra::get).update(extra::set).depends(new FieldDependency("mode", "b"))).
+				build();
+	}
+
+	private static List<String> names(List<? extends ValidationResult<?>> results) {
+		return results.stream().map(r -> r.field().resolveName()).toList();
+	}
+}